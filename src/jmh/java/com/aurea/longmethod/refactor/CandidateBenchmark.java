@@ -0,0 +1,72 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.utils.NodeIntervals;
+import com.aurea.longmethod.refactor.utils.ResolutionCache;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enumeration and scoring of the candidates of a long method, then the choice and building of the extractions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CandidateBenchmark {
+
+    //below the shortest corpus method, which a maximum of its own length would leave as it is
+    private static final int MAX_LENGTH = 20;
+
+    @Param({"30", "100", "300", "1000"})
+    public int size;
+
+    private final RefactoringCandidatesProvider candidatesProvider = new RefactoringCandidatesProvider(3, 1);
+    private final ApplicableCandidateProvider applicableCandidateProvider = new ApplicableCandidateProvider(3, 0.1f,
+            6, 8, 1);
+    private MethodDeclaration method;
+    private ClassOrInterfaceDeclaration type;
+    private CandidateSearch search;
+
+    @Setup
+    public void setUp() throws IOException {
+        method = Corpus.parseMethod(Corpus.extract(size), size);
+        type = method.getAncestorOfType(ClassOrInterfaceDeclaration.class)
+                .orElseThrow(() -> new IllegalStateException("No type of " + method.getNameAsString()));
+        NodeIntervals.attach(method);
+        search = refactorLongStatement();
+    }
+
+    //resolutions start cold, as they do for every method of a run
+    @Benchmark
+    public CandidateSearch refactorLongStatement() {
+        ResolutionCache.invalidate(method);
+        ResolutionCache.attach(method);
+        CandidateSearch candidateSearch = applicableCandidateProvider.newSearch(method, type);
+        method.getBody().ifPresent(body -> candidatesProvider.refactorLongStatement(body, candidateSearch));
+        return candidateSearch;
+    }
+
+    @Benchmark
+    public List<ApplicableCandidate> chooseBestCandidate() {
+        return applicableCandidateProvider.planExtractions(search, MAX_LENGTH).stream()
+                .map(candidate -> ApplicableCandidateProvider.computeNewMethods(candidate, type, method))
+                .collect(Collectors.toList());
+    }
+}
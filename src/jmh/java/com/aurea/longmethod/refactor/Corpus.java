@@ -0,0 +1,55 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Committed synthetic long methods the benchmarks run over, one file per method length: 30, 100, 300 and 1000 lines.
+ */
+final class Corpus {
+
+    private static final String PACKAGE = "bench";
+
+    private Corpus() {
+    }
+
+    /**
+     * Source root holding the file of the given size, copied out of the classpath.
+     */
+    static Path extract(int size) throws IOException {
+        Path root = Files.createTempDirectory("corpus");
+        Files.createDirectories(root.resolve(PACKAGE));
+        restore(root, size);
+        return root;
+    }
+
+    static void restore(Path root, int size) throws IOException {
+        try (InputStream content = Corpus.class.getResourceAsStream("/corpus/" + PACKAGE + "/" + fileName(size))) {
+            Files.copy(content, file(root, size), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static Path file(Path root, int size) {
+        return root.resolve(PACKAGE).resolve(fileName(size));
+    }
+
+    static MethodDeclaration parseMethod(Path root, int size) throws IOException {
+        CompilationUnit compilationUnit = JavaParser.parse(file(root, size));
+        compilationUnit.setData(Node.SYMBOL_RESOLVER_KEY, new JavaSymbolSolver(new JavaParserTypeSolver(root)));
+        return compilationUnit.findFirst(MethodDeclaration.class)
+                .orElseThrow(() -> new IllegalStateException("No method of " + size + " lines"));
+    }
+
+    private static String fileName(int size) {
+        return "LongMethod" + size + ".java";
+    }
+}
@@ -0,0 +1,78 @@
+package com.aurea.longmethod.refactor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A single file through the pipeline, from reading it to writing it refactored, round after round. The symbol solvers
+ * and the pipeline are set up once, as in a server: their startup is not measured and their caches stay warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FileRefactoringBenchmark {
+
+    //below the shortest corpus method, which a maximum of its own length would leave as it is
+    private static final int MAX_LENGTH = 20;
+
+    @Param({"30", "100", "300", "1000"})
+    public int size;
+
+    private Path root;
+    private SymbolSolverPool symbolSolvers;
+    private RefactoringPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Corpus.extract(size);
+        RefactoringMetrics metrics = new RefactoringMetrics(new SimpleMeterRegistry(), Long.MAX_VALUE);
+        SymbolSolverFactory symbolSolverFactory = new SymbolSolverFactory(1, "", 5000, false);
+        RefactoringPipelineFactory pipelineFactory = new RefactoringPipelineFactory(new AnalysisCache(""),
+                new SourceWriter(false), metrics, new AnalysisBudget(0, 0, 0));
+        LongMethodRefactor longMethodRefactor = new LongMethodRefactor(MAX_LENGTH, false,
+                new RefactoringCandidatesProvider(3, 1), new ApplicableCandidateProvider(3, 0.1f, 6, 8, 1),
+                new ChangeScope(root.toString(), "", ""), symbolSolverFactory, pipelineFactory,
+                new SuggestionReport(""), metrics);
+        symbolSolvers = symbolSolverFactory.newPool(Collections.singletonList(root));
+        pipeline = pipelineFactory.newPipeline(1, MAX_LENGTH, 0, false, root, "", false,
+                (compilationUnit, content, scope, budget) -> longMethodRefactor.refactorLonMethods(compilationUnit,
+                        content, scope, budget, symbolSolvers));
+    }
+
+    //every run starts from the long method, not from the output of the previous one
+    @Setup(Level.Invocation)
+    public void restore() throws IOException {
+        Corpus.restore(root, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.close();
+        symbolSolvers.close();
+    }
+
+    @Benchmark
+    public int refactorLonMethods() throws InterruptedException {
+        pipeline.submit(Corpus.file(root, size), MethodScope.wholeFile());
+        return pipeline.awaitCompletion();
+    }
+}
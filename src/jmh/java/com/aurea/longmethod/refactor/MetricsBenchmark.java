@@ -0,0 +1,50 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.utils.MethodMetrics;
+import com.aurea.longmethod.refactor.utils.ScoreUtils;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Printed length and nesting metrics of a long method, computed for every method a run looks at.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"30", "100", "300", "1000"})
+    public int size;
+
+    private MethodDeclaration method;
+
+    @Setup
+    public void setUp() throws IOException {
+        method = Corpus.parseMethod(Corpus.extract(size), size);
+    }
+
+    @Benchmark
+    public int methodLength() {
+        return ScoreUtils.methodLength(method);
+    }
+
+    @Benchmark
+    public MethodMetrics nestingMetrics() {
+        return MethodMetrics.of(method);
+    }
+}
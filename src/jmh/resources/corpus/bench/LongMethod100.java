@@ -0,0 +1,105 @@
+package bench;
+
+public class LongMethod100 {
+
+    public int compute(int[] values, int offset, int limit) {
+        int total = 0;
+        int a0 = values[0 % values.length] + values[0 % values.length] + offset;
+        if (a0 > limit) {
+            total += a0 * 2;
+        } else {
+            total -= a0;
+        }
+        for (int i = 0; i < a0 % 3; i++) {
+            total += values[i % values.length] * a0;
+        }
+        int a1 = a0 + values[1 % values.length] + offset;
+        if (a1 > limit) {
+            total += a1 * 3;
+        } else {
+            total -= a1;
+        }
+        for (int i = 0; i < a1 % 4; i++) {
+            total += values[i % values.length] * a1;
+        }
+        int a2 = a1 + values[2 % values.length] + offset;
+        if (a2 > limit) {
+            total += a2 * 4;
+        } else {
+            total -= a2;
+        }
+        for (int i = 0; i < a2 % 5; i++) {
+            total += values[i % values.length] * a2;
+        }
+        int a3 = a2 + values[3 % values.length] + offset;
+        if (a3 > limit) {
+            total += a3 * 5;
+        } else {
+            total -= a3;
+        }
+        for (int i = 0; i < a3 % 6; i++) {
+            total += values[i % values.length] * a3;
+        }
+        int a4 = a3 + values[4 % values.length] + offset;
+        if (a4 > limit) {
+            total += a4 * 6;
+        } else {
+            total -= a4;
+        }
+        for (int i = 0; i < a4 % 7; i++) {
+            total += values[i % values.length] * a4;
+        }
+        int a5 = a4 + values[5 % values.length] + offset;
+        if (a5 > limit) {
+            total += a5 * 2;
+        } else {
+            total -= a5;
+        }
+        for (int i = 0; i < a5 % 8; i++) {
+            total += values[i % values.length] * a5;
+        }
+        int a6 = a5 + values[6 % values.length] + offset;
+        if (a6 > limit) {
+            total += a6 * 3;
+        } else {
+            total -= a6;
+        }
+        for (int i = 0; i < a6 % 9; i++) {
+            total += values[i % values.length] * a6;
+        }
+        int a7 = a6 + values[7 % values.length] + offset;
+        if (a7 > limit) {
+            total += a7 * 4;
+        } else {
+            total -= a7;
+        }
+        for (int i = 0; i < a7 % 3; i++) {
+            total += values[i % values.length] * a7;
+        }
+        int a8 = a7 + values[8 % values.length] + offset;
+        if (a8 > limit) {
+            total += a8 * 5;
+        } else {
+            total -= a8;
+        }
+        for (int i = 0; i < a8 % 4; i++) {
+            total += values[i % values.length] * a8;
+        }
+        int a9 = a8 + values[9 % values.length] + offset;
+        if (a9 > limit) {
+            total += a9 * 6;
+        } else {
+            total -= a9;
+        }
+        for (int i = 0; i < a9 % 5; i++) {
+            total += values[i % values.length] * a9;
+        }
+        total += a9 % 2;
+        total += a9 % 3;
+        total += a9 % 4;
+        total += a9 % 5;
+        total += a9 % 6;
+        total += a9 % 7;
+        return total;
+    }
+}
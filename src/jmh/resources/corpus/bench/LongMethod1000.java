@@ -0,0 +1,1005 @@
+package bench;
+
+public class LongMethod1000 {
+
+    public int compute(int[] values, int offset, int limit) {
+        int total = 0;
+        int a0 = values[0 % values.length] + values[0 % values.length] + offset;
+        if (a0 > limit) {
+            total += a0 * 2;
+        } else {
+            total -= a0;
+        }
+        for (int i = 0; i < a0 % 3; i++) {
+            total += values[i % values.length] * a0;
+        }
+        int a1 = a0 + values[1 % values.length] + offset;
+        if (a1 > limit) {
+            total += a1 * 3;
+        } else {
+            total -= a1;
+        }
+        for (int i = 0; i < a1 % 4; i++) {
+            total += values[i % values.length] * a1;
+        }
+        int a2 = a1 + values[2 % values.length] + offset;
+        if (a2 > limit) {
+            total += a2 * 4;
+        } else {
+            total -= a2;
+        }
+        for (int i = 0; i < a2 % 5; i++) {
+            total += values[i % values.length] * a2;
+        }
+        int a3 = a2 + values[3 % values.length] + offset;
+        if (a3 > limit) {
+            total += a3 * 5;
+        } else {
+            total -= a3;
+        }
+        for (int i = 0; i < a3 % 6; i++) {
+            total += values[i % values.length] * a3;
+        }
+        int a4 = a3 + values[4 % values.length] + offset;
+        if (a4 > limit) {
+            total += a4 * 6;
+        } else {
+            total -= a4;
+        }
+        for (int i = 0; i < a4 % 7; i++) {
+            total += values[i % values.length] * a4;
+        }
+        int a5 = a4 + values[5 % values.length] + offset;
+        if (a5 > limit) {
+            total += a5 * 2;
+        } else {
+            total -= a5;
+        }
+        for (int i = 0; i < a5 % 8; i++) {
+            total += values[i % values.length] * a5;
+        }
+        int a6 = a5 + values[6 % values.length] + offset;
+        if (a6 > limit) {
+            total += a6 * 3;
+        } else {
+            total -= a6;
+        }
+        for (int i = 0; i < a6 % 9; i++) {
+            total += values[i % values.length] * a6;
+        }
+        int a7 = a6 + values[7 % values.length] + offset;
+        if (a7 > limit) {
+            total += a7 * 4;
+        } else {
+            total -= a7;
+        }
+        for (int i = 0; i < a7 % 3; i++) {
+            total += values[i % values.length] * a7;
+        }
+        int a8 = a7 + values[8 % values.length] + offset;
+        if (a8 > limit) {
+            total += a8 * 5;
+        } else {
+            total -= a8;
+        }
+        for (int i = 0; i < a8 % 4; i++) {
+            total += values[i % values.length] * a8;
+        }
+        int a9 = a8 + values[9 % values.length] + offset;
+        if (a9 > limit) {
+            total += a9 * 6;
+        } else {
+            total -= a9;
+        }
+        for (int i = 0; i < a9 % 5; i++) {
+            total += values[i % values.length] * a9;
+        }
+        int a10 = a9 + values[10 % values.length] + offset;
+        if (a10 > limit) {
+            total += a10 * 2;
+        } else {
+            total -= a10;
+        }
+        for (int i = 0; i < a10 % 6; i++) {
+            total += values[i % values.length] * a10;
+        }
+        int a11 = a10 + values[11 % values.length] + offset;
+        if (a11 > limit) {
+            total += a11 * 3;
+        } else {
+            total -= a11;
+        }
+        for (int i = 0; i < a11 % 7; i++) {
+            total += values[i % values.length] * a11;
+        }
+        int a12 = a11 + values[12 % values.length] + offset;
+        if (a12 > limit) {
+            total += a12 * 4;
+        } else {
+            total -= a12;
+        }
+        for (int i = 0; i < a12 % 8; i++) {
+            total += values[i % values.length] * a12;
+        }
+        int a13 = a12 + values[13 % values.length] + offset;
+        if (a13 > limit) {
+            total += a13 * 5;
+        } else {
+            total -= a13;
+        }
+        for (int i = 0; i < a13 % 9; i++) {
+            total += values[i % values.length] * a13;
+        }
+        int a14 = a13 + values[14 % values.length] + offset;
+        if (a14 > limit) {
+            total += a14 * 6;
+        } else {
+            total -= a14;
+        }
+        for (int i = 0; i < a14 % 3; i++) {
+            total += values[i % values.length] * a14;
+        }
+        int a15 = a14 + values[15 % values.length] + offset;
+        if (a15 > limit) {
+            total += a15 * 2;
+        } else {
+            total -= a15;
+        }
+        for (int i = 0; i < a15 % 4; i++) {
+            total += values[i % values.length] * a15;
+        }
+        int a16 = a15 + values[16 % values.length] + offset;
+        if (a16 > limit) {
+            total += a16 * 3;
+        } else {
+            total -= a16;
+        }
+        for (int i = 0; i < a16 % 5; i++) {
+            total += values[i % values.length] * a16;
+        }
+        int a17 = a16 + values[17 % values.length] + offset;
+        if (a17 > limit) {
+            total += a17 * 4;
+        } else {
+            total -= a17;
+        }
+        for (int i = 0; i < a17 % 6; i++) {
+            total += values[i % values.length] * a17;
+        }
+        int a18 = a17 + values[18 % values.length] + offset;
+        if (a18 > limit) {
+            total += a18 * 5;
+        } else {
+            total -= a18;
+        }
+        for (int i = 0; i < a18 % 7; i++) {
+            total += values[i % values.length] * a18;
+        }
+        int a19 = a18 + values[19 % values.length] + offset;
+        if (a19 > limit) {
+            total += a19 * 6;
+        } else {
+            total -= a19;
+        }
+        for (int i = 0; i < a19 % 8; i++) {
+            total += values[i % values.length] * a19;
+        }
+        int a20 = a19 + values[20 % values.length] + offset;
+        if (a20 > limit) {
+            total += a20 * 2;
+        } else {
+            total -= a20;
+        }
+        for (int i = 0; i < a20 % 9; i++) {
+            total += values[i % values.length] * a20;
+        }
+        int a21 = a20 + values[21 % values.length] + offset;
+        if (a21 > limit) {
+            total += a21 * 3;
+        } else {
+            total -= a21;
+        }
+        for (int i = 0; i < a21 % 3; i++) {
+            total += values[i % values.length] * a21;
+        }
+        int a22 = a21 + values[22 % values.length] + offset;
+        if (a22 > limit) {
+            total += a22 * 4;
+        } else {
+            total -= a22;
+        }
+        for (int i = 0; i < a22 % 4; i++) {
+            total += values[i % values.length] * a22;
+        }
+        int a23 = a22 + values[23 % values.length] + offset;
+        if (a23 > limit) {
+            total += a23 * 5;
+        } else {
+            total -= a23;
+        }
+        for (int i = 0; i < a23 % 5; i++) {
+            total += values[i % values.length] * a23;
+        }
+        int a24 = a23 + values[24 % values.length] + offset;
+        if (a24 > limit) {
+            total += a24 * 6;
+        } else {
+            total -= a24;
+        }
+        for (int i = 0; i < a24 % 6; i++) {
+            total += values[i % values.length] * a24;
+        }
+        int a25 = a24 + values[25 % values.length] + offset;
+        if (a25 > limit) {
+            total += a25 * 2;
+        } else {
+            total -= a25;
+        }
+        for (int i = 0; i < a25 % 7; i++) {
+            total += values[i % values.length] * a25;
+        }
+        int a26 = a25 + values[26 % values.length] + offset;
+        if (a26 > limit) {
+            total += a26 * 3;
+        } else {
+            total -= a26;
+        }
+        for (int i = 0; i < a26 % 8; i++) {
+            total += values[i % values.length] * a26;
+        }
+        int a27 = a26 + values[27 % values.length] + offset;
+        if (a27 > limit) {
+            total += a27 * 4;
+        } else {
+            total -= a27;
+        }
+        for (int i = 0; i < a27 % 9; i++) {
+            total += values[i % values.length] * a27;
+        }
+        int a28 = a27 + values[28 % values.length] + offset;
+        if (a28 > limit) {
+            total += a28 * 5;
+        } else {
+            total -= a28;
+        }
+        for (int i = 0; i < a28 % 3; i++) {
+            total += values[i % values.length] * a28;
+        }
+        int a29 = a28 + values[29 % values.length] + offset;
+        if (a29 > limit) {
+            total += a29 * 6;
+        } else {
+            total -= a29;
+        }
+        for (int i = 0; i < a29 % 4; i++) {
+            total += values[i % values.length] * a29;
+        }
+        int a30 = a29 + values[30 % values.length] + offset;
+        if (a30 > limit) {
+            total += a30 * 2;
+        } else {
+            total -= a30;
+        }
+        for (int i = 0; i < a30 % 5; i++) {
+            total += values[i % values.length] * a30;
+        }
+        int a31 = a30 + values[31 % values.length] + offset;
+        if (a31 > limit) {
+            total += a31 * 3;
+        } else {
+            total -= a31;
+        }
+        for (int i = 0; i < a31 % 6; i++) {
+            total += values[i % values.length] * a31;
+        }
+        int a32 = a31 + values[32 % values.length] + offset;
+        if (a32 > limit) {
+            total += a32 * 4;
+        } else {
+            total -= a32;
+        }
+        for (int i = 0; i < a32 % 7; i++) {
+            total += values[i % values.length] * a32;
+        }
+        int a33 = a32 + values[33 % values.length] + offset;
+        if (a33 > limit) {
+            total += a33 * 5;
+        } else {
+            total -= a33;
+        }
+        for (int i = 0; i < a33 % 8; i++) {
+            total += values[i % values.length] * a33;
+        }
+        int a34 = a33 + values[34 % values.length] + offset;
+        if (a34 > limit) {
+            total += a34 * 6;
+        } else {
+            total -= a34;
+        }
+        for (int i = 0; i < a34 % 9; i++) {
+            total += values[i % values.length] * a34;
+        }
+        int a35 = a34 + values[35 % values.length] + offset;
+        if (a35 > limit) {
+            total += a35 * 2;
+        } else {
+            total -= a35;
+        }
+        for (int i = 0; i < a35 % 3; i++) {
+            total += values[i % values.length] * a35;
+        }
+        int a36 = a35 + values[36 % values.length] + offset;
+        if (a36 > limit) {
+            total += a36 * 3;
+        } else {
+            total -= a36;
+        }
+        for (int i = 0; i < a36 % 4; i++) {
+            total += values[i % values.length] * a36;
+        }
+        int a37 = a36 + values[37 % values.length] + offset;
+        if (a37 > limit) {
+            total += a37 * 4;
+        } else {
+            total -= a37;
+        }
+        for (int i = 0; i < a37 % 5; i++) {
+            total += values[i % values.length] * a37;
+        }
+        int a38 = a37 + values[38 % values.length] + offset;
+        if (a38 > limit) {
+            total += a38 * 5;
+        } else {
+            total -= a38;
+        }
+        for (int i = 0; i < a38 % 6; i++) {
+            total += values[i % values.length] * a38;
+        }
+        int a39 = a38 + values[39 % values.length] + offset;
+        if (a39 > limit) {
+            total += a39 * 6;
+        } else {
+            total -= a39;
+        }
+        for (int i = 0; i < a39 % 7; i++) {
+            total += values[i % values.length] * a39;
+        }
+        int a40 = a39 + values[40 % values.length] + offset;
+        if (a40 > limit) {
+            total += a40 * 2;
+        } else {
+            total -= a40;
+        }
+        for (int i = 0; i < a40 % 8; i++) {
+            total += values[i % values.length] * a40;
+        }
+        int a41 = a40 + values[41 % values.length] + offset;
+        if (a41 > limit) {
+            total += a41 * 3;
+        } else {
+            total -= a41;
+        }
+        for (int i = 0; i < a41 % 9; i++) {
+            total += values[i % values.length] * a41;
+        }
+        int a42 = a41 + values[42 % values.length] + offset;
+        if (a42 > limit) {
+            total += a42 * 4;
+        } else {
+            total -= a42;
+        }
+        for (int i = 0; i < a42 % 3; i++) {
+            total += values[i % values.length] * a42;
+        }
+        int a43 = a42 + values[43 % values.length] + offset;
+        if (a43 > limit) {
+            total += a43 * 5;
+        } else {
+            total -= a43;
+        }
+        for (int i = 0; i < a43 % 4; i++) {
+            total += values[i % values.length] * a43;
+        }
+        int a44 = a43 + values[44 % values.length] + offset;
+        if (a44 > limit) {
+            total += a44 * 6;
+        } else {
+            total -= a44;
+        }
+        for (int i = 0; i < a44 % 5; i++) {
+            total += values[i % values.length] * a44;
+        }
+        int a45 = a44 + values[45 % values.length] + offset;
+        if (a45 > limit) {
+            total += a45 * 2;
+        } else {
+            total -= a45;
+        }
+        for (int i = 0; i < a45 % 6; i++) {
+            total += values[i % values.length] * a45;
+        }
+        int a46 = a45 + values[46 % values.length] + offset;
+        if (a46 > limit) {
+            total += a46 * 3;
+        } else {
+            total -= a46;
+        }
+        for (int i = 0; i < a46 % 7; i++) {
+            total += values[i % values.length] * a46;
+        }
+        int a47 = a46 + values[47 % values.length] + offset;
+        if (a47 > limit) {
+            total += a47 * 4;
+        } else {
+            total -= a47;
+        }
+        for (int i = 0; i < a47 % 8; i++) {
+            total += values[i % values.length] * a47;
+        }
+        int a48 = a47 + values[48 % values.length] + offset;
+        if (a48 > limit) {
+            total += a48 * 5;
+        } else {
+            total -= a48;
+        }
+        for (int i = 0; i < a48 % 9; i++) {
+            total += values[i % values.length] * a48;
+        }
+        int a49 = a48 + values[49 % values.length] + offset;
+        if (a49 > limit) {
+            total += a49 * 6;
+        } else {
+            total -= a49;
+        }
+        for (int i = 0; i < a49 % 3; i++) {
+            total += values[i % values.length] * a49;
+        }
+        int a50 = a49 + values[50 % values.length] + offset;
+        if (a50 > limit) {
+            total += a50 * 2;
+        } else {
+            total -= a50;
+        }
+        for (int i = 0; i < a50 % 4; i++) {
+            total += values[i % values.length] * a50;
+        }
+        int a51 = a50 + values[51 % values.length] + offset;
+        if (a51 > limit) {
+            total += a51 * 3;
+        } else {
+            total -= a51;
+        }
+        for (int i = 0; i < a51 % 5; i++) {
+            total += values[i % values.length] * a51;
+        }
+        int a52 = a51 + values[52 % values.length] + offset;
+        if (a52 > limit) {
+            total += a52 * 4;
+        } else {
+            total -= a52;
+        }
+        for (int i = 0; i < a52 % 6; i++) {
+            total += values[i % values.length] * a52;
+        }
+        int a53 = a52 + values[53 % values.length] + offset;
+        if (a53 > limit) {
+            total += a53 * 5;
+        } else {
+            total -= a53;
+        }
+        for (int i = 0; i < a53 % 7; i++) {
+            total += values[i % values.length] * a53;
+        }
+        int a54 = a53 + values[54 % values.length] + offset;
+        if (a54 > limit) {
+            total += a54 * 6;
+        } else {
+            total -= a54;
+        }
+        for (int i = 0; i < a54 % 8; i++) {
+            total += values[i % values.length] * a54;
+        }
+        int a55 = a54 + values[55 % values.length] + offset;
+        if (a55 > limit) {
+            total += a55 * 2;
+        } else {
+            total -= a55;
+        }
+        for (int i = 0; i < a55 % 9; i++) {
+            total += values[i % values.length] * a55;
+        }
+        int a56 = a55 + values[56 % values.length] + offset;
+        if (a56 > limit) {
+            total += a56 * 3;
+        } else {
+            total -= a56;
+        }
+        for (int i = 0; i < a56 % 3; i++) {
+            total += values[i % values.length] * a56;
+        }
+        int a57 = a56 + values[57 % values.length] + offset;
+        if (a57 > limit) {
+            total += a57 * 4;
+        } else {
+            total -= a57;
+        }
+        for (int i = 0; i < a57 % 4; i++) {
+            total += values[i % values.length] * a57;
+        }
+        int a58 = a57 + values[58 % values.length] + offset;
+        if (a58 > limit) {
+            total += a58 * 5;
+        } else {
+            total -= a58;
+        }
+        for (int i = 0; i < a58 % 5; i++) {
+            total += values[i % values.length] * a58;
+        }
+        int a59 = a58 + values[59 % values.length] + offset;
+        if (a59 > limit) {
+            total += a59 * 6;
+        } else {
+            total -= a59;
+        }
+        for (int i = 0; i < a59 % 6; i++) {
+            total += values[i % values.length] * a59;
+        }
+        int a60 = a59 + values[60 % values.length] + offset;
+        if (a60 > limit) {
+            total += a60 * 2;
+        } else {
+            total -= a60;
+        }
+        for (int i = 0; i < a60 % 7; i++) {
+            total += values[i % values.length] * a60;
+        }
+        int a61 = a60 + values[61 % values.length] + offset;
+        if (a61 > limit) {
+            total += a61 * 3;
+        } else {
+            total -= a61;
+        }
+        for (int i = 0; i < a61 % 8; i++) {
+            total += values[i % values.length] * a61;
+        }
+        int a62 = a61 + values[62 % values.length] + offset;
+        if (a62 > limit) {
+            total += a62 * 4;
+        } else {
+            total -= a62;
+        }
+        for (int i = 0; i < a62 % 9; i++) {
+            total += values[i % values.length] * a62;
+        }
+        int a63 = a62 + values[63 % values.length] + offset;
+        if (a63 > limit) {
+            total += a63 * 5;
+        } else {
+            total -= a63;
+        }
+        for (int i = 0; i < a63 % 3; i++) {
+            total += values[i % values.length] * a63;
+        }
+        int a64 = a63 + values[64 % values.length] + offset;
+        if (a64 > limit) {
+            total += a64 * 6;
+        } else {
+            total -= a64;
+        }
+        for (int i = 0; i < a64 % 4; i++) {
+            total += values[i % values.length] * a64;
+        }
+        int a65 = a64 + values[65 % values.length] + offset;
+        if (a65 > limit) {
+            total += a65 * 2;
+        } else {
+            total -= a65;
+        }
+        for (int i = 0; i < a65 % 5; i++) {
+            total += values[i % values.length] * a65;
+        }
+        int a66 = a65 + values[66 % values.length] + offset;
+        if (a66 > limit) {
+            total += a66 * 3;
+        } else {
+            total -= a66;
+        }
+        for (int i = 0; i < a66 % 6; i++) {
+            total += values[i % values.length] * a66;
+        }
+        int a67 = a66 + values[67 % values.length] + offset;
+        if (a67 > limit) {
+            total += a67 * 4;
+        } else {
+            total -= a67;
+        }
+        for (int i = 0; i < a67 % 7; i++) {
+            total += values[i % values.length] * a67;
+        }
+        int a68 = a67 + values[68 % values.length] + offset;
+        if (a68 > limit) {
+            total += a68 * 5;
+        } else {
+            total -= a68;
+        }
+        for (int i = 0; i < a68 % 8; i++) {
+            total += values[i % values.length] * a68;
+        }
+        int a69 = a68 + values[69 % values.length] + offset;
+        if (a69 > limit) {
+            total += a69 * 6;
+        } else {
+            total -= a69;
+        }
+        for (int i = 0; i < a69 % 9; i++) {
+            total += values[i % values.length] * a69;
+        }
+        int a70 = a69 + values[70 % values.length] + offset;
+        if (a70 > limit) {
+            total += a70 * 2;
+        } else {
+            total -= a70;
+        }
+        for (int i = 0; i < a70 % 3; i++) {
+            total += values[i % values.length] * a70;
+        }
+        int a71 = a70 + values[71 % values.length] + offset;
+        if (a71 > limit) {
+            total += a71 * 3;
+        } else {
+            total -= a71;
+        }
+        for (int i = 0; i < a71 % 4; i++) {
+            total += values[i % values.length] * a71;
+        }
+        int a72 = a71 + values[72 % values.length] + offset;
+        if (a72 > limit) {
+            total += a72 * 4;
+        } else {
+            total -= a72;
+        }
+        for (int i = 0; i < a72 % 5; i++) {
+            total += values[i % values.length] * a72;
+        }
+        int a73 = a72 + values[73 % values.length] + offset;
+        if (a73 > limit) {
+            total += a73 * 5;
+        } else {
+            total -= a73;
+        }
+        for (int i = 0; i < a73 % 6; i++) {
+            total += values[i % values.length] * a73;
+        }
+        int a74 = a73 + values[74 % values.length] + offset;
+        if (a74 > limit) {
+            total += a74 * 6;
+        } else {
+            total -= a74;
+        }
+        for (int i = 0; i < a74 % 7; i++) {
+            total += values[i % values.length] * a74;
+        }
+        int a75 = a74 + values[75 % values.length] + offset;
+        if (a75 > limit) {
+            total += a75 * 2;
+        } else {
+            total -= a75;
+        }
+        for (int i = 0; i < a75 % 8; i++) {
+            total += values[i % values.length] * a75;
+        }
+        int a76 = a75 + values[76 % values.length] + offset;
+        if (a76 > limit) {
+            total += a76 * 3;
+        } else {
+            total -= a76;
+        }
+        for (int i = 0; i < a76 % 9; i++) {
+            total += values[i % values.length] * a76;
+        }
+        int a77 = a76 + values[77 % values.length] + offset;
+        if (a77 > limit) {
+            total += a77 * 4;
+        } else {
+            total -= a77;
+        }
+        for (int i = 0; i < a77 % 3; i++) {
+            total += values[i % values.length] * a77;
+        }
+        int a78 = a77 + values[78 % values.length] + offset;
+        if (a78 > limit) {
+            total += a78 * 5;
+        } else {
+            total -= a78;
+        }
+        for (int i = 0; i < a78 % 4; i++) {
+            total += values[i % values.length] * a78;
+        }
+        int a79 = a78 + values[79 % values.length] + offset;
+        if (a79 > limit) {
+            total += a79 * 6;
+        } else {
+            total -= a79;
+        }
+        for (int i = 0; i < a79 % 5; i++) {
+            total += values[i % values.length] * a79;
+        }
+        int a80 = a79 + values[80 % values.length] + offset;
+        if (a80 > limit) {
+            total += a80 * 2;
+        } else {
+            total -= a80;
+        }
+        for (int i = 0; i < a80 % 6; i++) {
+            total += values[i % values.length] * a80;
+        }
+        int a81 = a80 + values[81 % values.length] + offset;
+        if (a81 > limit) {
+            total += a81 * 3;
+        } else {
+            total -= a81;
+        }
+        for (int i = 0; i < a81 % 7; i++) {
+            total += values[i % values.length] * a81;
+        }
+        int a82 = a81 + values[82 % values.length] + offset;
+        if (a82 > limit) {
+            total += a82 * 4;
+        } else {
+            total -= a82;
+        }
+        for (int i = 0; i < a82 % 8; i++) {
+            total += values[i % values.length] * a82;
+        }
+        int a83 = a82 + values[83 % values.length] + offset;
+        if (a83 > limit) {
+            total += a83 * 5;
+        } else {
+            total -= a83;
+        }
+        for (int i = 0; i < a83 % 9; i++) {
+            total += values[i % values.length] * a83;
+        }
+        int a84 = a83 + values[84 % values.length] + offset;
+        if (a84 > limit) {
+            total += a84 * 6;
+        } else {
+            total -= a84;
+        }
+        for (int i = 0; i < a84 % 3; i++) {
+            total += values[i % values.length] * a84;
+        }
+        int a85 = a84 + values[85 % values.length] + offset;
+        if (a85 > limit) {
+            total += a85 * 2;
+        } else {
+            total -= a85;
+        }
+        for (int i = 0; i < a85 % 4; i++) {
+            total += values[i % values.length] * a85;
+        }
+        int a86 = a85 + values[86 % values.length] + offset;
+        if (a86 > limit) {
+            total += a86 * 3;
+        } else {
+            total -= a86;
+        }
+        for (int i = 0; i < a86 % 5; i++) {
+            total += values[i % values.length] * a86;
+        }
+        int a87 = a86 + values[87 % values.length] + offset;
+        if (a87 > limit) {
+            total += a87 * 4;
+        } else {
+            total -= a87;
+        }
+        for (int i = 0; i < a87 % 6; i++) {
+            total += values[i % values.length] * a87;
+        }
+        int a88 = a87 + values[88 % values.length] + offset;
+        if (a88 > limit) {
+            total += a88 * 5;
+        } else {
+            total -= a88;
+        }
+        for (int i = 0; i < a88 % 7; i++) {
+            total += values[i % values.length] * a88;
+        }
+        int a89 = a88 + values[89 % values.length] + offset;
+        if (a89 > limit) {
+            total += a89 * 6;
+        } else {
+            total -= a89;
+        }
+        for (int i = 0; i < a89 % 8; i++) {
+            total += values[i % values.length] * a89;
+        }
+        int a90 = a89 + values[90 % values.length] + offset;
+        if (a90 > limit) {
+            total += a90 * 2;
+        } else {
+            total -= a90;
+        }
+        for (int i = 0; i < a90 % 9; i++) {
+            total += values[i % values.length] * a90;
+        }
+        int a91 = a90 + values[91 % values.length] + offset;
+        if (a91 > limit) {
+            total += a91 * 3;
+        } else {
+            total -= a91;
+        }
+        for (int i = 0; i < a91 % 3; i++) {
+            total += values[i % values.length] * a91;
+        }
+        int a92 = a91 + values[92 % values.length] + offset;
+        if (a92 > limit) {
+            total += a92 * 4;
+        } else {
+            total -= a92;
+        }
+        for (int i = 0; i < a92 % 4; i++) {
+            total += values[i % values.length] * a92;
+        }
+        int a93 = a92 + values[93 % values.length] + offset;
+        if (a93 > limit) {
+            total += a93 * 5;
+        } else {
+            total -= a93;
+        }
+        for (int i = 0; i < a93 % 5; i++) {
+            total += values[i % values.length] * a93;
+        }
+        int a94 = a93 + values[94 % values.length] + offset;
+        if (a94 > limit) {
+            total += a94 * 6;
+        } else {
+            total -= a94;
+        }
+        for (int i = 0; i < a94 % 6; i++) {
+            total += values[i % values.length] * a94;
+        }
+        int a95 = a94 + values[95 % values.length] + offset;
+        if (a95 > limit) {
+            total += a95 * 2;
+        } else {
+            total -= a95;
+        }
+        for (int i = 0; i < a95 % 7; i++) {
+            total += values[i % values.length] * a95;
+        }
+        int a96 = a95 + values[96 % values.length] + offset;
+        if (a96 > limit) {
+            total += a96 * 3;
+        } else {
+            total -= a96;
+        }
+        for (int i = 0; i < a96 % 8; i++) {
+            total += values[i % values.length] * a96;
+        }
+        int a97 = a96 + values[97 % values.length] + offset;
+        if (a97 > limit) {
+            total += a97 * 4;
+        } else {
+            total -= a97;
+        }
+        for (int i = 0; i < a97 % 9; i++) {
+            total += values[i % values.length] * a97;
+        }
+        int a98 = a97 + values[98 % values.length] + offset;
+        if (a98 > limit) {
+            total += a98 * 5;
+        } else {
+            total -= a98;
+        }
+        for (int i = 0; i < a98 % 3; i++) {
+            total += values[i % values.length] * a98;
+        }
+        int a99 = a98 + values[99 % values.length] + offset;
+        if (a99 > limit) {
+            total += a99 * 6;
+        } else {
+            total -= a99;
+        }
+        for (int i = 0; i < a99 % 4; i++) {
+            total += values[i % values.length] * a99;
+        }
+        int a100 = a99 + values[100 % values.length] + offset;
+        if (a100 > limit) {
+            total += a100 * 2;
+        } else {
+            total -= a100;
+        }
+        for (int i = 0; i < a100 % 5; i++) {
+            total += values[i % values.length] * a100;
+        }
+        int a101 = a100 + values[101 % values.length] + offset;
+        if (a101 > limit) {
+            total += a101 * 3;
+        } else {
+            total -= a101;
+        }
+        for (int i = 0; i < a101 % 6; i++) {
+            total += values[i % values.length] * a101;
+        }
+        int a102 = a101 + values[102 % values.length] + offset;
+        if (a102 > limit) {
+            total += a102 * 4;
+        } else {
+            total -= a102;
+        }
+        for (int i = 0; i < a102 % 7; i++) {
+            total += values[i % values.length] * a102;
+        }
+        int a103 = a102 + values[103 % values.length] + offset;
+        if (a103 > limit) {
+            total += a103 * 5;
+        } else {
+            total -= a103;
+        }
+        for (int i = 0; i < a103 % 8; i++) {
+            total += values[i % values.length] * a103;
+        }
+        int a104 = a103 + values[104 % values.length] + offset;
+        if (a104 > limit) {
+            total += a104 * 6;
+        } else {
+            total -= a104;
+        }
+        for (int i = 0; i < a104 % 9; i++) {
+            total += values[i % values.length] * a104;
+        }
+        int a105 = a104 + values[105 % values.length] + offset;
+        if (a105 > limit) {
+            total += a105 * 2;
+        } else {
+            total -= a105;
+        }
+        for (int i = 0; i < a105 % 3; i++) {
+            total += values[i % values.length] * a105;
+        }
+        int a106 = a105 + values[106 % values.length] + offset;
+        if (a106 > limit) {
+            total += a106 * 3;
+        } else {
+            total -= a106;
+        }
+        for (int i = 0; i < a106 % 4; i++) {
+            total += values[i % values.length] * a106;
+        }
+        int a107 = a106 + values[107 % values.length] + offset;
+        if (a107 > limit) {
+            total += a107 * 4;
+        } else {
+            total -= a107;
+        }
+        for (int i = 0; i < a107 % 5; i++) {
+            total += values[i % values.length] * a107;
+        }
+        int a108 = a107 + values[108 % values.length] + offset;
+        if (a108 > limit) {
+            total += a108 * 5;
+        } else {
+            total -= a108;
+        }
+        for (int i = 0; i < a108 % 6; i++) {
+            total += values[i % values.length] * a108;
+        }
+        int a109 = a108 + values[109 % values.length] + offset;
+        if (a109 > limit) {
+            total += a109 * 6;
+        } else {
+            total -= a109;
+        }
+        for (int i = 0; i < a109 % 7; i++) {
+            total += values[i % values.length] * a109;
+        }
+        total += a109 % 2;
+        total += a109 % 3;
+        total += a109 % 4;
+        total += a109 % 5;
+        total += a109 % 6;
+        total += a109 % 7;
+        return total;
+    }
+}
@@ -0,0 +1,35 @@
+package bench;
+
+public class LongMethod30 {
+
+    public int compute(int[] values, int offset, int limit) {
+        int total = 0;
+        int a0 = values[0 % values.length] + values[0 % values.length] + offset;
+        if (a0 > limit) {
+            total += a0 * 2;
+        } else {
+            total -= a0;
+        }
+        for (int i = 0; i < a0 % 3; i++) {
+            total += values[i % values.length] * a0;
+        }
+        int a1 = a0 + values[1 % values.length] + offset;
+        if (a1 > limit) {
+            total += a1 * 3;
+        } else {
+            total -= a1;
+        }
+        for (int i = 0; i < a1 % 4; i++) {
+            total += values[i % values.length] * a1;
+        }
+        total += a1 % 2;
+        total += a1 % 3;
+        total += a1 % 4;
+        total += a1 % 5;
+        total += a1 % 6;
+        total += a1 % 7;
+        total += a1 % 8;
+        total += a1 % 9;
+        return total;
+    }
+}
@@ -0,0 +1,305 @@
+package bench;
+
+public class LongMethod300 {
+
+    public int compute(int[] values, int offset, int limit) {
+        int total = 0;
+        int a0 = values[0 % values.length] + values[0 % values.length] + offset;
+        if (a0 > limit) {
+            total += a0 * 2;
+        } else {
+            total -= a0;
+        }
+        for (int i = 0; i < a0 % 3; i++) {
+            total += values[i % values.length] * a0;
+        }
+        int a1 = a0 + values[1 % values.length] + offset;
+        if (a1 > limit) {
+            total += a1 * 3;
+        } else {
+            total -= a1;
+        }
+        for (int i = 0; i < a1 % 4; i++) {
+            total += values[i % values.length] * a1;
+        }
+        int a2 = a1 + values[2 % values.length] + offset;
+        if (a2 > limit) {
+            total += a2 * 4;
+        } else {
+            total -= a2;
+        }
+        for (int i = 0; i < a2 % 5; i++) {
+            total += values[i % values.length] * a2;
+        }
+        int a3 = a2 + values[3 % values.length] + offset;
+        if (a3 > limit) {
+            total += a3 * 5;
+        } else {
+            total -= a3;
+        }
+        for (int i = 0; i < a3 % 6; i++) {
+            total += values[i % values.length] * a3;
+        }
+        int a4 = a3 + values[4 % values.length] + offset;
+        if (a4 > limit) {
+            total += a4 * 6;
+        } else {
+            total -= a4;
+        }
+        for (int i = 0; i < a4 % 7; i++) {
+            total += values[i % values.length] * a4;
+        }
+        int a5 = a4 + values[5 % values.length] + offset;
+        if (a5 > limit) {
+            total += a5 * 2;
+        } else {
+            total -= a5;
+        }
+        for (int i = 0; i < a5 % 8; i++) {
+            total += values[i % values.length] * a5;
+        }
+        int a6 = a5 + values[6 % values.length] + offset;
+        if (a6 > limit) {
+            total += a6 * 3;
+        } else {
+            total -= a6;
+        }
+        for (int i = 0; i < a6 % 9; i++) {
+            total += values[i % values.length] * a6;
+        }
+        int a7 = a6 + values[7 % values.length] + offset;
+        if (a7 > limit) {
+            total += a7 * 4;
+        } else {
+            total -= a7;
+        }
+        for (int i = 0; i < a7 % 3; i++) {
+            total += values[i % values.length] * a7;
+        }
+        int a8 = a7 + values[8 % values.length] + offset;
+        if (a8 > limit) {
+            total += a8 * 5;
+        } else {
+            total -= a8;
+        }
+        for (int i = 0; i < a8 % 4; i++) {
+            total += values[i % values.length] * a8;
+        }
+        int a9 = a8 + values[9 % values.length] + offset;
+        if (a9 > limit) {
+            total += a9 * 6;
+        } else {
+            total -= a9;
+        }
+        for (int i = 0; i < a9 % 5; i++) {
+            total += values[i % values.length] * a9;
+        }
+        int a10 = a9 + values[10 % values.length] + offset;
+        if (a10 > limit) {
+            total += a10 * 2;
+        } else {
+            total -= a10;
+        }
+        for (int i = 0; i < a10 % 6; i++) {
+            total += values[i % values.length] * a10;
+        }
+        int a11 = a10 + values[11 % values.length] + offset;
+        if (a11 > limit) {
+            total += a11 * 3;
+        } else {
+            total -= a11;
+        }
+        for (int i = 0; i < a11 % 7; i++) {
+            total += values[i % values.length] * a11;
+        }
+        int a12 = a11 + values[12 % values.length] + offset;
+        if (a12 > limit) {
+            total += a12 * 4;
+        } else {
+            total -= a12;
+        }
+        for (int i = 0; i < a12 % 8; i++) {
+            total += values[i % values.length] * a12;
+        }
+        int a13 = a12 + values[13 % values.length] + offset;
+        if (a13 > limit) {
+            total += a13 * 5;
+        } else {
+            total -= a13;
+        }
+        for (int i = 0; i < a13 % 9; i++) {
+            total += values[i % values.length] * a13;
+        }
+        int a14 = a13 + values[14 % values.length] + offset;
+        if (a14 > limit) {
+            total += a14 * 6;
+        } else {
+            total -= a14;
+        }
+        for (int i = 0; i < a14 % 3; i++) {
+            total += values[i % values.length] * a14;
+        }
+        int a15 = a14 + values[15 % values.length] + offset;
+        if (a15 > limit) {
+            total += a15 * 2;
+        } else {
+            total -= a15;
+        }
+        for (int i = 0; i < a15 % 4; i++) {
+            total += values[i % values.length] * a15;
+        }
+        int a16 = a15 + values[16 % values.length] + offset;
+        if (a16 > limit) {
+            total += a16 * 3;
+        } else {
+            total -= a16;
+        }
+        for (int i = 0; i < a16 % 5; i++) {
+            total += values[i % values.length] * a16;
+        }
+        int a17 = a16 + values[17 % values.length] + offset;
+        if (a17 > limit) {
+            total += a17 * 4;
+        } else {
+            total -= a17;
+        }
+        for (int i = 0; i < a17 % 6; i++) {
+            total += values[i % values.length] * a17;
+        }
+        int a18 = a17 + values[18 % values.length] + offset;
+        if (a18 > limit) {
+            total += a18 * 5;
+        } else {
+            total -= a18;
+        }
+        for (int i = 0; i < a18 % 7; i++) {
+            total += values[i % values.length] * a18;
+        }
+        int a19 = a18 + values[19 % values.length] + offset;
+        if (a19 > limit) {
+            total += a19 * 6;
+        } else {
+            total -= a19;
+        }
+        for (int i = 0; i < a19 % 8; i++) {
+            total += values[i % values.length] * a19;
+        }
+        int a20 = a19 + values[20 % values.length] + offset;
+        if (a20 > limit) {
+            total += a20 * 2;
+        } else {
+            total -= a20;
+        }
+        for (int i = 0; i < a20 % 9; i++) {
+            total += values[i % values.length] * a20;
+        }
+        int a21 = a20 + values[21 % values.length] + offset;
+        if (a21 > limit) {
+            total += a21 * 3;
+        } else {
+            total -= a21;
+        }
+        for (int i = 0; i < a21 % 3; i++) {
+            total += values[i % values.length] * a21;
+        }
+        int a22 = a21 + values[22 % values.length] + offset;
+        if (a22 > limit) {
+            total += a22 * 4;
+        } else {
+            total -= a22;
+        }
+        for (int i = 0; i < a22 % 4; i++) {
+            total += values[i % values.length] * a22;
+        }
+        int a23 = a22 + values[23 % values.length] + offset;
+        if (a23 > limit) {
+            total += a23 * 5;
+        } else {
+            total -= a23;
+        }
+        for (int i = 0; i < a23 % 5; i++) {
+            total += values[i % values.length] * a23;
+        }
+        int a24 = a23 + values[24 % values.length] + offset;
+        if (a24 > limit) {
+            total += a24 * 6;
+        } else {
+            total -= a24;
+        }
+        for (int i = 0; i < a24 % 6; i++) {
+            total += values[i % values.length] * a24;
+        }
+        int a25 = a24 + values[25 % values.length] + offset;
+        if (a25 > limit) {
+            total += a25 * 2;
+        } else {
+            total -= a25;
+        }
+        for (int i = 0; i < a25 % 7; i++) {
+            total += values[i % values.length] * a25;
+        }
+        int a26 = a25 + values[26 % values.length] + offset;
+        if (a26 > limit) {
+            total += a26 * 3;
+        } else {
+            total -= a26;
+        }
+        for (int i = 0; i < a26 % 8; i++) {
+            total += values[i % values.length] * a26;
+        }
+        int a27 = a26 + values[27 % values.length] + offset;
+        if (a27 > limit) {
+            total += a27 * 4;
+        } else {
+            total -= a27;
+        }
+        for (int i = 0; i < a27 % 9; i++) {
+            total += values[i % values.length] * a27;
+        }
+        int a28 = a27 + values[28 % values.length] + offset;
+        if (a28 > limit) {
+            total += a28 * 5;
+        } else {
+            total -= a28;
+        }
+        for (int i = 0; i < a28 % 3; i++) {
+            total += values[i % values.length] * a28;
+        }
+        int a29 = a28 + values[29 % values.length] + offset;
+        if (a29 > limit) {
+            total += a29 * 6;
+        } else {
+            total -= a29;
+        }
+        for (int i = 0; i < a29 % 4; i++) {
+            total += values[i % values.length] * a29;
+        }
+        int a30 = a29 + values[30 % values.length] + offset;
+        if (a30 > limit) {
+            total += a30 * 2;
+        } else {
+            total -= a30;
+        }
+        for (int i = 0; i < a30 % 5; i++) {
+            total += values[i % values.length] * a30;
+        }
+        int a31 = a30 + values[31 % values.length] + offset;
+        if (a31 > limit) {
+            total += a31 * 3;
+        } else {
+            total -= a31;
+        }
+        for (int i = 0; i < a31 % 6; i++) {
+            total += values[i % values.length] * a31;
+        }
+        total += a31 % 2;
+        total += a31 % 3;
+        total += a31 % 4;
+        total += a31 % 5;
+        total += a31 % 6;
+        total += a31 % 7;
+        total += a31 % 8;
+        total += a31 % 9;
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import java.util.concurrent.TimeUnit;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wall-clock time a file and each of its methods may take, and number of candidate ranges a method may evaluate, 0
+ * for no limit. A method over budget is searched again among the ranges of its top level statements only, and skipped
+ * when that is over budget too. Rounds of a file over budget stop, keeping the extractions done so far.
+ */
+@Component
+@ToString
+public class AnalysisBudget {
+
+    private final long fileBudgetMillis;
+    private final long methodBudgetMillis;
+    private final int methodBudgetCandidates;
+
+    public AnalysisBudget(@Value("${fileBudgetMillis:0}") long fileBudgetMillis,
+            @Value("${methodBudgetMillis:0}") long methodBudgetMillis,
+            @Value("${methodBudgetCandidates:0}") int methodBudgetCandidates) {
+        this.fileBudgetMillis = fileBudgetMillis;
+        this.methodBudgetMillis = methodBudgetMillis;
+        this.methodBudgetCandidates = methodBudgetCandidates;
+    }
+
+    FileBudget startFile() {
+        return new FileBudget(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(fileBudgetMillis),
+                TimeUnit.MILLISECONDS.toNanos(methodBudgetMillis), methodBudgetCandidates);
+    }
+
+    /**
+     * Budget of the analysis of a file, attached to its compilation unit. A file whose analysis was cut short is
+     * degraded: its outcome depends on the time it got, so it is not to be cached.
+     */
+    static final class FileBudget {
+
+        private static final DataKey<FileBudget> FILE_BUDGET_KEY = new DataKey<FileBudget>() {
+        };
+
+        private final long started;
+        private final long fileNanos;
+        private final long methodNanos;
+        private final int methodCandidates;
+        private volatile boolean degraded;
+
+        private FileBudget(long started, long fileNanos, long methodNanos, int methodCandidates) {
+            this.started = started;
+            this.fileNanos = fileNanos;
+            this.methodNanos = methodNanos;
+            this.methodCandidates = methodCandidates;
+        }
+
+        static FileBudget unlimited() {
+            return new FileBudget(System.nanoTime(), 0, 0, 0);
+        }
+
+        static FileBudget of(Node node) {
+            return node.getAncestorOfType(CompilationUnit.class).filter(unit -> unit.containsData(FILE_BUDGET_KEY))
+                    .map(unit -> unit.getData(FILE_BUDGET_KEY)).orElseGet(FileBudget::unlimited);
+        }
+
+        void attach(CompilationUnit compilationUnit) {
+            compilationUnit.setData(FILE_BUDGET_KEY, this);
+        }
+
+        boolean isFileExceeded() {
+            return isExceeded(started, fileNanos);
+        }
+
+        /**
+         * Whether the search of a method started at {@code methodStarted} has to stop after {@code evaluated}
+         * candidate ranges.
+         */
+        boolean isMethodExceeded(long methodStarted, int evaluated) {
+            return methodCandidates > 0 && evaluated > methodCandidates || isExceeded(methodStarted, methodNanos)
+                    || isFileExceeded();
+        }
+
+        /**
+         * Whether the searches of methods stop after a number of candidate ranges, which then have to be evaluated in
+         * enumeration order for the outcome not to depend on the scheduling of threads.
+         */
+        boolean isCandidateLimited() {
+            return methodCandidates > 0;
+        }
+
+        void degrade() {
+            degraded = true;
+        }
+
+        boolean isDegraded() {
+            return degraded;
+        }
+
+        //elapsed time is compared as a difference, nanoTime may overflow
+        private static boolean isExceeded(long since, long budget) {
+            return budget > 0 && System.nanoTime() - since > budget;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.aurea.longmethod.refactor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Content hash and refactoring outcome of the files of a source root, kept in {@code cacheDir} between runs. A file
+ * whose content and tool configuration match its last unchanged or refactored outcome is skipped without being parsed.
+ */
+@Component
+@Slf4j
+public class AnalysisCache {
+
+    private static final String CONFIGURATION_KEY = "configuration";
+    private static final String CACHE_SUFFIX = ".properties";
+    private static final String SEPARATOR = " ";
+
+    private final String cacheDir;
+
+    public AnalysisCache(@Value("${cacheDir:}") String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    enum Outcome {
+        UNCHANGED, REFACTORED, FAILED
+    }
+
+    /**
+     * A partial run keeps the entries of the files it does not go through.
+     */
+    Session open(Path rootPath, String configuration, boolean partial) throws IOException {
+        Properties previous = new Properties();
+        if (StringUtils.isEmpty(cacheDir)) {
+            return new Session(rootPath, null, previous, configuration);
+        }
+        String rootName = rootPath.toAbsolutePath().normalize().toString();
+        Path cacheFile = Paths.get(cacheDir).resolve(hash(rootName.getBytes(StandardCharsets.UTF_8)) + CACHE_SUFFIX);
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream input = Files.newInputStream(cacheFile)) {
+                previous.load(input);
+            }
+        }
+        if (!configuration.equals(previous.getProperty(CONFIGURATION_KEY))) {
+            log.info("No analysis cache of {} for the current configuration", rootPath);
+            previous.clear();
+        }
+        Session session = new Session(rootPath, cacheFile, previous, configuration);
+        if (partial) {
+            session.current.putAll(previous);
+        }
+        return session;
+    }
+
+    static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+
+    /**
+     * Outcomes of a run over a source root: entries of the files no longer found are dropped when saved.
+     */
+    static final class Session {
+
+        private final Path rootPath;
+        private final Path cacheFile;
+        private final Properties previous;
+        private final Properties current = new Properties();
+
+        private Session(Path rootPath, Path cacheFile, Properties previous, String configuration) {
+            this.rootPath = rootPath;
+            this.cacheFile = cacheFile;
+            this.previous = previous;
+            current.setProperty(CONFIGURATION_KEY, configuration);
+        }
+
+        //failed files are analysed again, the failure may come from another file of the root
+        boolean isUpToDate(Path file, byte[] content) {
+            String entry = previous.getProperty(key(file));
+            if (entry == null || entry.endsWith(SEPARATOR + Outcome.FAILED)) {
+                return false;
+            }
+            String hash = hash(content);
+            if (!entry.startsWith(hash + SEPARATOR)) {
+                return false;
+            }
+            current.setProperty(key(file), entry);
+            return true;
+        }
+
+        void record(Path file, byte[] content, Outcome outcome) {
+            current.setProperty(key(file), hash(content) + SEPARATOR + outcome);
+        }
+
+        void save() throws IOException {
+            if (cacheFile == null) {
+                return;
+            }
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), null);
+            try (OutputStream output = Files.newOutputStream(tempFile)) {
+                current.store(output, "Long Method refactoring outcomes of " + rootPath);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private String key(Path file) {
+            return rootPath.relativize(file).toString();
+        }
+    }
+}
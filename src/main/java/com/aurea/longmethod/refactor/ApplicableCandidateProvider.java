@@ -1,17 +1,18 @@
 package com.aurea.longmethod.refactor;
 
 import com.aurea.longmethod.refactor.utils.AstUtils;
+import com.aurea.longmethod.refactor.utils.MethodMetrics;
 import com.aurea.longmethod.refactor.utils.ResolveUtils;
 import com.aurea.longmethod.refactor.utils.ScoreUtils;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.AssignExpr.Operator;
+import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
@@ -24,6 +25,7 @@ import com.github.javaparser.ast.type.ReferenceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.VoidType;
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -35,11 +37,14 @@ import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.ToString;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 @Component
+@ToString
 public class ApplicableCandidateProvider {
 
     private static final String GET = "get";
@@ -48,48 +53,112 @@ public class ApplicableCandidateProvider {
     private final int maxScoreLength;
     private final float lengthWeight;
     private final int minMethodLength;
+    private final int maxCandidates;
+    @Getter
+    private final int maxExtractions;
 
     public ApplicableCandidateProvider(@Value("${maxScoreLength:3}") int maxScoreLength,
-            @Value("${lengthWeight:0.1}") float lengthWeight, @Value("${minMethodLength:6}") int minMethodLength) {
+            @Value("${lengthWeight:0.1}") float lengthWeight, @Value("${minMethodLength:6}") int minMethodLength,
+            @Value("${maxCandidates:8}") int maxCandidates, @Value("${maxExtractions:1}") int maxExtractions) {
         this.maxScoreLength = maxScoreLength;
         this.lengthWeight = lengthWeight;
         this.minMethodLength = minMethodLength;
+        this.maxCandidates = maxCandidates;
+        this.maxExtractions = maxExtractions;
+    }
+
+    CandidateSearch newSearch(MethodDeclaration method, TypeDeclaration<?> type) {
+        return newSearch(method, type, false);
     }
 
-    Optional<ApplicableCandidate> chooseBestCandidate(List<RefactoringCandidate> candidates,
-            MethodDeclaration method, ClassOrInterfaceDeclaration type) {
-        return candidates.stream().map(candidate -> computeNewMethodAndScore(candidate, type, method))
-                .filter(ApplicableCandidate::isReducesLength)
-                .filter(candidate -> ScoreUtils.isLengthEnough(candidate.getRemainingMethod(), minMethodLength))
-                .max(Comparator.comparing(ApplicableCandidate::getScore));
+    /**
+     * A top level only search considers the ranges of the statements of the method body, not those nested in them.
+     */
+    CandidateSearch newSearch(MethodDeclaration method, TypeDeclaration<?> type, boolean topLevelOnly) {
+        return new CandidateSearch(this, method, type, maxCandidates, topLevelOnly);
     }
 
-    private ApplicableCandidate computeNewMethodAndScore(RefactoringCandidate candidate,
-            ClassOrInterfaceDeclaration type, MethodDeclaration method) {
+    /**
+     * Non-overlapping candidates to extract together, best first, until the method is expected to fit in
+     * {@code targetLength}. They are returned latest in the document first, the order they have to be applied in.
+     */
+    List<ScoredCandidate> planExtractions(CandidateSearch search, int targetLength) {
+        List<ScoredCandidate> plan = new ArrayList<>();
+        int length = search.getMetrics().getLength();
+        for (ScoredCandidate candidate : search.getBest()) {
+            int reducedLength = length - (search.getMetrics().getLength() - candidate.getRemainingLength());
+            boolean overlaps = plan.stream().anyMatch(chosen -> chosen.getCandidate().overlaps(
+                    candidate.getCandidate()));
+            if (overlaps || !ScoreUtils.isLengthEnough(reducedLength, minMethodLength)) {
+                continue;
+            }
+            plan.add(candidate);
+            length = reducedLength;
+            if (plan.size() >= maxExtractions || length <= targetLength) {
+                break;
+            }
+        }
+        plan.sort(Comparator.comparing(ScoredCandidate::getCandidate, RefactoringCandidate.LATEST_FIRST));
+        return plan;
+    }
+
+    boolean isApplicable(ScoredCandidate candidate) {
+        return candidate.isReducesLength() && ScoreUtils.isLengthEnough(candidate.getRemainingLength(),
+                minMethodLength);
+    }
+
+    //the best score a range can reach, whatever its parameters, returned value and replacing statement
+    float upperBound(List<Statement> statements, MethodMetrics metrics) {
+        Statement first = statements.get(0);
+        Statement last = statements.get(statements.size() - 1);
+        float lengthBound = Math.min(lengthWeight * (metrics.sumLines(statements) + 3), maxScoreLength);
+        int nestDepthBound = metrics.getDepth() - 1 - metrics.maxDepth(first, last);
+        float nestAreaBound = metrics.getArea() == 0 ? Float.POSITIVE_INFINITY
+                : 2f * metrics.getDepth() * (metrics.getArea() - metrics.sumDepth(first, last)) / metrics.getArea();
+        return lengthBound + nestDepthBound + nestAreaBound + ScoreUtils.paramsScore(false, 0);
+    }
+
+    //only planned candidates get their methods built, candidates are scored from the metrics of the original method
+    static ApplicableCandidate computeNewMethods(ScoredCandidate scoredCandidate,
+            TypeDeclaration<?> type, MethodDeclaration method) {
+        RefactoringCandidate candidate = scoredCandidate.getCandidate();
         MethodDeclaration candidateMethod = generateNewMethod(candidate, type, method);
         MethodDeclaration remainingMethod = generateRemainingMethod(candidate, method, candidateMethod);
-        float score = computeScore(method, candidateMethod, remainingMethod);
-        boolean reducesLength = ScoreUtils.reducesLength(method, candidateMethod, remainingMethod);
         return ApplicableCandidate.builder()
                 .candidateMethod(candidateMethod)
                 .remainingMethod(remainingMethod)
-                .score(score)
-                .reducesLength(reducesLength)
+                .score(scoredCandidate.getScore())
+                .reducesLength(scoredCandidate.isReducesLength())
                 .build();
     }
 
-    private float computeScore(MethodDeclaration method, MethodDeclaration candidateMethod,
-            MethodDeclaration remainingMethod) {
-        float lengthScore = lengthScore(candidateMethod, remainingMethod);
-        int nestDepthScore = ScoreUtils.nestingDepthSocre(method, candidateMethod, remainingMethod);
-        float nestAreaScore = ScoreUtils.nestingAreaScore(method, candidateMethod, remainingMethod);
-        int paramsScore = ScoreUtils.paramsScore(candidateMethod);
-        return lengthScore + nestDepthScore + nestAreaScore + paramsScore;
+    ScoredCandidate computeScore(RefactoringCandidate candidate, MethodDeclaration method, MethodMetrics metrics,
+            int sequence) {
+        CandidateMetrics candidateMetrics = CandidateMetrics.of(candidate, getStatementsToReplace(candidate, method),
+                method, metrics);
+        float lengthScore = lengthScore(candidateMetrics);
+        int nestDepthScore = ScoreUtils.nestingDepthSocre(metrics.getDepth(), candidateMetrics.getCandidateDepth(),
+                candidateMetrics.getRemainingDepth());
+        float nestAreaScore = ScoreUtils.nestingAreaScore(metrics.getDepth(), metrics.getArea(),
+                candidateMetrics.getCandidateArea(), candidateMetrics.getRemainingArea());
+        int paramsScore = ScoreUtils.paramsScore(candidateMetrics.isReturnsValue(), candidateMetrics.getParameters());
+        return ScoredCandidate.builder()
+                .candidate(candidate)
+                .score(lengthScore + nestDepthScore + nestAreaScore + paramsScore)
+                .lengthScore(lengthScore)
+                .nestDepthScore(nestDepthScore)
+                .nestAreaScore(nestAreaScore)
+                .paramsScore(paramsScore)
+                .reducesLength(ScoreUtils.reducesLength(metrics.getLength(), candidateMetrics.getCandidateLength(),
+                        candidateMetrics.getRemainingLength()))
+                .remainingLength(candidateMetrics.getRemainingLength())
+                .sequence(sequence)
+                .build();
     }
 
-    private float lengthScore(MethodDeclaration candidateMethod, MethodDeclaration remainingMethod) {
-        int candidateLength = ScoreUtils.methodLength(candidateMethod);
-        int remainingLength = ScoreUtils.methodLength(remainingMethod);
+    private float lengthScore(CandidateMetrics candidateMetrics) {
+        int candidateLength = candidateMetrics.getCandidateLength();
+        int remainingLength = candidateMetrics.getRemainingLength();
         return Math.min(lengthWeight * Math.min(candidateLength, remainingLength), maxScoreLength);
     }
 
@@ -122,8 +191,9 @@ public class ApplicableCandidateProvider {
         Expression replacingExpression = methodCallExpr;
         if (candidate.getValueToAssign() != null) {
             ResolvedValueDeclaration valueToAssign = candidate.getValueToAssign();
+            //once a first extraction is applied, the method is a copy of the one the candidate was resolved in
             List<Statement> statementsToReplace = getStatementsToReplace(candidate, method);
-            if (ResolveUtils.isDeclaredIn(valueToAssign, statementsToReplace)) {
+            if (ResolveUtils.isDeclaredInCopy(valueToAssign, statementsToReplace)) {
                 VariableDeclarator variableDeclarator = new VariableDeclarator(AstUtils.getType(valueToAssign),
                         valueToAssign.getName(), methodCallExpr);
                 List<VariableDeclarator> otherDeclarators = getOtherDeclarators(valueToAssign);
@@ -139,7 +209,7 @@ public class ApplicableCandidateProvider {
         return new ExpressionStmt(replacingExpression);
     }
 
-    private static List<VariableDeclarator> getOtherDeclarators(ResolvedValueDeclaration valueToAssign) {
+    static List<VariableDeclarator> getOtherDeclarators(ResolvedValueDeclaration valueToAssign) {
         Node declarationNode = ResolveUtils.getWrappedNode(valueToAssign);
         return declarationNode.getParentNode()
                 .map(ApplicableCandidateProvider::getDeclarators).orElse(Collections.emptyList())
@@ -155,7 +225,7 @@ public class ApplicableCandidateProvider {
         return Collections.emptyList();
     }
 
-    private static MethodDeclaration generateNewMethod(RefactoringCandidate candidate, ClassOrInterfaceDeclaration type,
+    private static MethodDeclaration generateNewMethod(RefactoringCandidate candidate, TypeDeclaration<?> type,
             MethodDeclaration method) {
         MethodDeclaration newMethod = new MethodDeclaration();
         newMethod.setName(computeMethodName(candidate, type, method));
@@ -184,7 +254,7 @@ public class ApplicableCandidateProvider {
                 .collect(Collectors.toCollection(NodeList::new));
     }
 
-    private static List<Statement> getStatementsToReplace(RefactoringCandidate candidate,
+    static List<Statement> getStatementsToReplace(RefactoringCandidate candidate,
             MethodDeclaration methodDeclaration) {
         Optional<BlockStmt> body = methodDeclaration.getBody();
         if (!body.isPresent()) {
@@ -198,13 +268,13 @@ public class ApplicableCandidateProvider {
                 .subList(candidate.getFirstStatement(), candidate.getLastStatement() + 1);
     }
 
-    private static Collection<Parameter> computeParameters(RefactoringCandidate candidate) {
+    static Collection<Parameter> computeParameters(RefactoringCandidate candidate) {
         return candidate.getParameters().stream().map(param -> new Parameter(AstUtils.getType(param), param.getName()))
                 .collect(
                         Collectors.toMap(Parameter::getNameAsString, Function.identity(), (p1, p2) -> p1)).values();
     }
 
-    private static Type computeReturnType(RefactoringCandidate candidate, MethodDeclaration method) {
+    static Type computeReturnType(RefactoringCandidate candidate, MethodDeclaration method) {
         if (candidate.getValueToAssign() != null) {
             ResolvedValueDeclaration valueToAssign = candidate.getValueToAssign();
             return AstUtils.getType(valueToAssign);
@@ -215,7 +285,7 @@ public class ApplicableCandidateProvider {
         return method.getType();
     }
 
-    private static String computeMethodName(RefactoringCandidate candidate, ClassOrInterfaceDeclaration type,
+    private static String computeMethodName(RefactoringCandidate candidate, TypeDeclaration<?> type,
             MethodDeclaration method) {
         String name = method.getNameAsString();
         if (candidate.getValueToAssign() != null) {
@@ -0,0 +1,112 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Keeps the {@code maxSize} types last solved by a type solver, least recently used first out, so that a type is not
+ * looked up again through each of the combined solvers. The source solvers behind it bound their own caches of parsed
+ * files: evicting a type here only frees it once they have evicted its file too. Like the solver it wraps, it is used
+ * by a single worker at a time.
+ */
+class CachingTypeSolver implements TypeSolver {
+
+    private final TypeSolver typeSolver;
+    private final List<SourceRootTypeSolver> sourceRoots;
+    private final int maxSize;
+    //access order: iteration starts from the least recently used type
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> types = new LinkedHashMap<>(16,
+            0.75f, true);
+    private TypeSolver parent;
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+    @Getter
+    private long evictions;
+
+    /**
+     * The source roots are among the solvers the wrapped one combines.
+     */
+    CachingTypeSolver(TypeSolver typeSolver, List<SourceRootTypeSolver> sourceRoots, int maxSize) {
+        this.typeSolver = typeSolver;
+        this.sourceRoots = sourceRoots;
+        this.maxSize = Math.max(1, maxSize);
+        //the wrapped solver resolves the types it depends on through the cache
+        typeSolver.setParent(this);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> type = types.get(name);
+        if (type != null) {
+            hits++;
+            return type;
+        }
+        misses++;
+        type = typeSolver.tryToSolveType(name);
+        types.put(name, type);
+        if (types.size() > maxSize) {
+            Iterator<String> leastRecentlyUsed = types.keySet().iterator();
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+        return type;
+    }
+
+    /**
+     * Forgets the types of a changed file of the source roots, which is parsed again when they are next solved, and
+     * the types not found so far, which it may now declare. Other types and files stay cached.
+     */
+    boolean invalidate(Path file) {
+        boolean invalidated = false;
+        for (SourceRootTypeSolver sourceRoot : sourceRoots) {
+            if (sourceRoot.contains(file)) {
+                Set<String> declared = sourceRoot.invalidate(file);
+                types.entrySet().removeIf(entry -> declared.contains(entry.getKey()) || !entry.getValue().isSolved());
+                invalidated = true;
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * Forgets the types of the files of the source roots changed on disk since they were parsed.
+     */
+    boolean invalidateModified() {
+        boolean invalidated = false;
+        for (SourceRootTypeSolver sourceRoot : sourceRoots) {
+            for (Path file : sourceRoot.findModifiedFiles()) {
+                invalidated |= invalidate(file);
+            }
+        }
+        return invalidated;
+    }
+
+    long getLoadedFiles() {
+        return sourceRoots.stream().mapToLong(SourceRootTypeSolver::getLoadedFiles).sum();
+    }
+
+    int size() {
+        return types.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.utils.MethodMetrics;
+import com.aurea.longmethod.refactor.utils.ResolveUtils;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.type.VoidType;
+import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import java.util.Collections;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Length, nesting and signature figures of the two methods a candidate would produce, derived from the metrics of
+ * the original method.
+ */
+@Builder
+@Getter
+class CandidateMetrics {
+
+    private final int candidateLength;
+    private final int candidateDepth;
+    private final int candidateArea;
+    private final int remainingLength;
+    private final int remainingDepth;
+    private final int remainingArea;
+    private final int parameters;
+    private final boolean returnsValue;
+
+    static CandidateMetrics of(RefactoringCandidate candidate, List<Statement> statements, MethodDeclaration method,
+            MethodMetrics metrics) {
+        Statement last = statements.get(statements.size() - 1);
+        boolean dropsLastReturn = last.isReturnStmt() && !last.asReturnStmt().getExpression().isPresent();
+        List<Statement> extracted = dropsLastReturn ? statements.subList(0, statements.size() - 1) : statements;
+        int keptLines = dropsLastReturn && statements.size() > 1 ? metrics.lines(last) : 0;
+        List<VariableDeclarator> movedDeclarators = getMovedDeclarators(candidate, statements);
+        int replacingLines = 1 + movedDeclarators.stream().mapToInt(declarator -> metrics.lines(declarator) - 1).sum();
+        int replacingDepth = metrics.maxDepth(movedDeclarators);
+        boolean assignsValue = candidate.getValueToAssign() != null;
+        Statement first = statements.get(0);
+        Statement lastExtracted = extracted.isEmpty() ? null : extracted.get(extracted.size() - 1);
+        return CandidateMetrics.builder()
+                .candidateLength(2 + metrics.sumLines(extracted) + (assignsValue ? 1 : 0))
+                .candidateDepth(1 + (lastExtracted == null ? 0 : metrics.maxDepth(first, lastExtracted)))
+                .candidateArea(lastExtracted == null ? 0 : metrics.sumDepth(first, lastExtracted))
+                .remainingLength(metrics.getLength() - metrics.sumLines(statements) + replacingLines + keptLines)
+                .remainingDepth(metrics.remainingDepth(first, last, replacingDepth))
+                .remainingArea(metrics.remainingArea(first, last, replacingDepth))
+                .parameters((int) candidate.getParameters().stream().map(ResolvedValueDeclaration::getName).distinct()
+                        .count())
+                .returnsValue(assignsValue
+                        || (candidate.getReturnStmt() != null && !(method.getType() instanceof VoidType)))
+                .build();
+    }
+
+    //declarators sharing the declaration of the returned value move into the replacing statement
+    private static List<VariableDeclarator> getMovedDeclarators(RefactoringCandidate candidate,
+            List<Statement> statements) {
+        ResolvedValueDeclaration valueToAssign = candidate.getValueToAssign();
+        if (valueToAssign == null || !ResolveUtils.isDeclaredIn(valueToAssign, statements)) {
+            return Collections.emptyList();
+        }
+        return ApplicableCandidateProvider.getOtherDeclarators(valueToAssign);
+    }
+}
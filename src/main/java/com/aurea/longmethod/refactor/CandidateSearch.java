@@ -0,0 +1,152 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.AnalysisBudget.FileBudget;
+import com.aurea.longmethod.refactor.utils.MethodMetrics;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.stmt.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+/**
+ * Best candidates of a method, scored as they are enumerated. Only the {@code maxCandidates} best are kept, and ranges
+ * whose score upper bound cannot make it into them are skipped before being analysed. The search is exhausted once
+ * over the budget of the method, no range is evaluated after that. Ranges may be searched in parallel by forks of the
+ * search, joined back in the order they would have been enumerated in, unless the budget counts candidate ranges:
+ * forks would then use it up in the order they run.
+ */
+class CandidateSearch {
+
+    //keeps float rounding of the bound from pruning a range that would tie
+    private static final float BOUND_MARGIN = 1e-3f;
+    //worst first: lowest score, then latest enumerated, as the first of equal candidates wins
+    private static final Comparator<ScoredCandidate> WORST_FIRST = Comparator.comparing(ScoredCandidate::getScore)
+            .thenComparing(ScoredCandidate::getSequence, Comparator.reverseOrder());
+
+    private final ApplicableCandidateProvider scorer;
+    @Getter
+    private final MethodDeclaration method;
+    @Getter
+    private final TypeDeclaration<?> type;
+    @Getter
+    private final MethodMetrics metrics;
+    private final int maxCandidates;
+    private final PriorityQueue<ScoredCandidate> best;
+    private final FileBudget budget;
+    private final long started;
+    //ranges evaluated by the search and its forks, counted against the budget of the method
+    private final AtomicInteger evaluated;
+    @Getter
+    private final boolean topLevelOnly;
+    private boolean exhausted;
+    @Getter
+    private int enumerated;
+    @Getter
+    private int pruned;
+    @Getter
+    private long scoringNanos;
+
+    CandidateSearch(ApplicableCandidateProvider scorer, MethodDeclaration method, TypeDeclaration<?> type,
+            int maxCandidates, boolean topLevelOnly) {
+        this.scorer = scorer;
+        this.method = method;
+        this.type = type;
+        this.metrics = MethodMetrics.of(method);
+        this.maxCandidates = Math.max(1, maxCandidates);
+        this.best = new PriorityQueue<>(this.maxCandidates + 1, WORST_FIRST);
+        this.budget = FileBudget.of(method);
+        this.topLevelOnly = topLevelOnly;
+        this.started = System.nanoTime();
+        this.evaluated = new AtomicInteger();
+    }
+
+    private CandidateSearch(CandidateSearch search) {
+        this.scorer = search.scorer;
+        this.method = search.method;
+        this.type = search.type;
+        this.metrics = search.metrics;
+        this.maxCandidates = search.maxCandidates;
+        this.best = new PriorityQueue<>(maxCandidates + 1, WORST_FIRST);
+        this.budget = search.budget;
+        this.topLevelOnly = search.topLevelOnly;
+        this.started = search.started;
+        this.evaluated = search.evaluated;
+    }
+
+    boolean canFork() {
+        return !budget.isCandidateLimited();
+    }
+
+    /**
+     * A search of other ranges of the method, sharing its budget, to be run in parallel and joined back.
+     */
+    CandidateSearch fork() {
+        return new CandidateSearch(this);
+    }
+
+    /**
+     * Takes in the candidates of forks, in the order their ranges come after those enumerated so far. Candidates are
+     * numbered as if enumerated by this search, so that ties are broken the same.
+     */
+    void join(List<CandidateSearch> forks) {
+        for (CandidateSearch fork : forks) {
+            for (ScoredCandidate scored : fork.best) {
+                keep(scored.toBuilder().sequence(enumerated + scored.getSequence()).build());
+            }
+            enumerated += fork.enumerated;
+            pruned += fork.pruned;
+            scoringNanos += fork.scoringNanos;
+            exhausted |= fork.exhausted;
+        }
+    }
+
+    boolean isExhausted() {
+        if (!exhausted) {
+            exhausted = budget.isMethodExceeded(started, evaluated.get());
+        }
+        return exhausted;
+    }
+
+    boolean canImprove(List<Statement> statements) {
+        enumerated++;
+        evaluated.incrementAndGet();
+        if (isExhausted()) {
+            return false;
+        }
+        if (best.size() < maxCandidates
+                || !(scorer.upperBound(statements, metrics) <= best.peek().getScore() - BOUND_MARGIN)) {
+            return true;
+        }
+        pruned++;
+        return false;
+    }
+
+    void offer(RefactoringCandidate candidate) {
+        long started = System.nanoTime();
+        ScoredCandidate scored = scorer.computeScore(candidate, method, metrics, enumerated);
+        scoringNanos += System.nanoTime() - started;
+        if (scorer.isApplicable(scored)) {
+            keep(scored);
+        }
+    }
+
+    /**
+     * Kept candidates, best first.
+     */
+    List<ScoredCandidate> getBest() {
+        List<ScoredCandidate> sorted = new ArrayList<>(best);
+        sorted.sort(WORST_FIRST.reversed());
+        return sorted;
+    }
+
+    private void keep(ScoredCandidate scored) {
+        best.add(scored);
+        if (best.size() > maxCandidates) {
+            best.poll();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.aurea.longmethod.refactor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Source roots of a run, restricted to the files of a git revision range, down to the methods overlapping its changed
+ * lines, and to the files of an explicit list. Symbols are still resolved against the whole source roots.
+ */
+@Component
+@Slf4j
+public class ChangeScope {
+
+    private static final String STDIN = "-";
+    private static final String JAVA_SUFFIX = ".java";
+    private static final String OLD_FILE = "--- ";
+    private static final String NEW_FILE = "+++ ";
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\S+ \\+(\\d+)(?:,(\\d+))? @@");
+
+    private final String srcPaths;
+    private final String changedSince;
+    private final String changedFiles;
+    private List<String> listedFiles;
+
+    public ChangeScope(@Value("${srcPaths}") String srcPaths, @Value("${changedSince:}") String changedSince,
+            @Value("${changedFiles:}") String changedFiles) {
+        this.srcPaths = srcPaths;
+        this.changedSince = changedSince;
+        this.changedFiles = changedFiles;
+    }
+
+    List<Path> getRootPaths() {
+        return Arrays.stream(srcPaths.split(",")).map(Paths::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Changed Java files of the root with the methods to consider in each, empty when every file is to be refactored.
+     */
+    Optional<Map<Path, MethodScope>> getChangedFiles(Path rootPath) throws IOException {
+        if (StringUtils.isEmpty(changedSince) && StringUtils.isEmpty(changedFiles)) {
+            return Optional.empty();
+        }
+        Map<Path, MethodScope> changed = new LinkedHashMap<>();
+        if (!StringUtils.isEmpty(changedFiles)) {
+            for (String listedFile : getListedFiles()) {
+                toRootFile(rootPath, Paths.get(listedFile)).ifPresent(file -> changed.put(file,
+                        MethodScope.wholeFile()));
+            }
+        }
+        if (!StringUtils.isEmpty(changedSince)) {
+            getChangedLines(rootPath).forEach((file, lines) -> changed.putIfAbsent(file,
+                    MethodScope.overlapping(lines)));
+        }
+        log.info("{} changed files in {}", changed.size(), rootPath);
+        return Optional.of(changed);
+    }
+
+    //read once, standard input cannot be read again for the next root
+    private List<String> getListedFiles() throws IOException {
+        if (listedFiles == null && STDIN.equals(changedFiles)) {
+            //standard input is left open
+            listedFiles = readListedFiles(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+        } else if (listedFiles == null) {
+            try (BufferedReader reader = Files.newBufferedReader(Paths.get(changedFiles), StandardCharsets.UTF_8)) {
+                listedFiles = readListedFiles(reader);
+            }
+        }
+        return listedFiles;
+    }
+
+    private static List<String> readListedFiles(BufferedReader reader) {
+        return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    }
+
+    //same form as the paths found walking the root, so that they are matched whatever the listed form
+    private static Optional<Path> toRootFile(Path rootPath, Path file) {
+        Path absoluteRoot = rootPath.toAbsolutePath().normalize();
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        if (!absoluteFile.startsWith(absoluteRoot) || !absoluteFile.toString().endsWith(JAVA_SUFFIX)
+                || !Files.isRegularFile(absoluteFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(rootPath.resolve(absoluteRoot.relativize(absoluteFile)));
+    }
+
+    private Map<Path, List<int[]>> getChangedLines(Path rootPath) throws IOException {
+        Process git = new ProcessBuilder("git", "diff", "--relative", "--no-prefix", "--unified=0", "--no-color",
+                "--no-ext-diff", changedSince, "--").directory(rootPath.toFile()).redirectError(Redirect.INHERIT)
+                .start();
+        Map<Path, List<int[]>> changedLines;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(git.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            changedLines = parseDiff(rootPath, output);
+        }
+        awaitGit(git);
+        return changedLines;
+    }
+
+    /**
+     * Begin and end line of every hunk of a diff without context, by changed Java file of the root. Files are named
+     * by their new path, renamed files by the name they are renamed to, removed ones are left out.
+     */
+    static Map<Path, List<int[]>> parseDiff(Path rootPath, BufferedReader diff) throws IOException {
+        Map<Path, List<int[]>> changedLines = new LinkedHashMap<>();
+        List<int[]> fileLines = null;
+        String previous = "";
+        for (String line = diff.readLine(); line != null; line = diff.readLine()) {
+            Matcher hunk = HUNK.matcher(line);
+            if (previous.startsWith(OLD_FILE) && line.startsWith(NEW_FILE)) {
+                fileLines = toRootFile(rootPath, rootPath.resolve(line.substring(NEW_FILE.length())))
+                        .map(file -> changedLines.computeIfAbsent(file, key -> new ArrayList<>())).orElse(null);
+            } else if (fileLines != null && hunk.find()) {
+                int begin = Integer.parseInt(hunk.group(1));
+                int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                //a removal has no new lines, the methods around it are still changed
+                fileLines.add(new int[] {begin, begin + Math.max(count, 1) - 1});
+            }
+            previous = line;
+        }
+        return changedLines;
+    }
+
+    private void awaitGit(Process git) {
+        try {
+            if (git.waitFor() != 0) {
+                throw new IllegalStateException("git diff " + changedSince + " failed with exit code "
+                        + git.exitValue());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for git diff " + changedSince, ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * Bodies of a file longer than {@code maxLength}, found in a single visitor pass over all of its types: top level and
+ * nested classes, interfaces and enums, anonymous and local classes, with their constructors and initializers. Methods
+ * of the named member types are refactored, in document order, which extracted methods are named and placed in. The
+ * other bodies are only counted: an extraction is a private method added next to the method of a named type.
+ * Methods whose search found no extraction are settled, they are not searched again while printed the same.
+ */
+final class LongMethodIndex {
+
+    private final int maxLength;
+    private final List<Entry> methods = new ArrayList<>();
+    //printed methods whose search found no extraction, by type and signature
+    private final Map<String, String> settledMethods = new HashMap<>();
+    @Getter
+    private int unsupported;
+
+    @Getter
+    static final class Entry {
+
+        private final TypeDeclaration<?> type;
+        private final MethodDeclaration method;
+        private final int length;
+        private boolean settled;
+
+        private Entry(TypeDeclaration<?> type, MethodDeclaration method, int length) {
+            this.type = type;
+            this.method = method;
+            this.length = length;
+        }
+    }
+
+    LongMethodIndex(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Indexes the file afresh, as parsed again: its methods are new nodes.
+     */
+    void index(CompilationUnit compilationUnit) {
+        methods.clear();
+        unsupported = 0;
+        compilationUnit.accept(new Indexer(), null);
+    }
+
+    /**
+     * Long methods left to search, in document order.
+     */
+    List<Entry> getPending() {
+        return methods.stream().filter(entry -> !entry.settled).collect(Collectors.toList());
+    }
+
+    /**
+     * Long methods, longest first.
+     */
+    List<Entry> byLength() {
+        return methods.stream().sorted(Comparator.comparing(Entry::getLength).reversed())
+                .collect(Collectors.toList());
+    }
+
+    boolean contains(MethodDeclaration method) {
+        return methods.stream().anyMatch(entry -> entry.method == method);
+    }
+
+    void settle(Entry entry) {
+        entry.settled = true;
+        settledMethods.put(key(entry.type, entry.method), entry.method.toString());
+    }
+
+    /**
+     * Replaces a refactored method by the methods it was split into, once positioned, for rounds that do not parse
+     * the file again. Extracted methods were added at the end of the type, after the methods of its nested types.
+     */
+    void replace(Entry entry, List<MethodDeclaration> splitMethods) {
+        int position = methods.indexOf(entry);
+        methods.remove(position);
+        int end = position;
+        for (int i = position; i < methods.size(); i++) {
+            end = isWithin(methods.get(i).type, entry.type) ? i + 1 : end;
+        }
+        //the remaining method comes last
+        List<Entry> extracted = splitMethods.subList(0, splitMethods.size() - 1).stream().map(this::toEntry)
+                .filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+        methods.addAll(end, extracted);
+        toEntry(splitMethods.get(splitMethods.size() - 1)).ifPresent(remaining -> methods.add(position, remaining));
+    }
+
+    private Optional<Entry> toEntry(MethodDeclaration method) {
+        Optional<Node> parent = method.getParentNode();
+        int length = length(method);
+        if (!method.getBody().isPresent() || length <= maxLength || !parent.isPresent()) {
+            return Optional.empty();
+        }
+        if (!isNamedMember(method)) {
+            unsupported++;
+            return Optional.empty();
+        }
+        Entry entry = new Entry((TypeDeclaration<?>) parent.get(), method, length);
+        entry.settled = method.toString().equals(settledMethods.get(key(entry.type, method)));
+        return Optional.of(entry);
+    }
+
+    //member of a type declared at top level or in such types, not in a body nor an anonymous class
+    private static boolean isNamedMember(Node node) {
+        Optional<Node> parent = node.getParentNode();
+        if (!parent.isPresent() || !(parent.get() instanceof TypeDeclaration)) {
+            return false;
+        }
+        while (parent.isPresent() && parent.get() instanceof TypeDeclaration) {
+            parent = parent.get().getParentNode();
+        }
+        return parent.isPresent() && parent.get() instanceof CompilationUnit;
+    }
+
+    private static boolean isWithin(Node node, Node ancestor) {
+        for (Optional<Node> current = Optional.of(node); current.isPresent();
+                current = current.get().getParentNode()) {
+            if (current.get() == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int length(Node node) {
+        return node.getBegin().flatMap(begin -> node.getEnd().map(end -> end.line - begin.line + 1)).orElse(0);
+    }
+
+    //nested types are named after the types they are in, as types of different ones may be named the same
+    private static String key(TypeDeclaration<?> type, MethodDeclaration method) {
+        String typeName = type.getNameAsString();
+        Optional<Node> parent = type.getParentNode();
+        while (parent.isPresent() && parent.get() instanceof TypeDeclaration) {
+            typeName = ((TypeDeclaration<?>) parent.get()).getNameAsString() + '.' + typeName;
+            parent = parent.get().getParentNode();
+        }
+        return typeName + '#' + method.getSignature().asString();
+    }
+
+    private final class Indexer extends VoidVisitorAdapter<Void> {
+
+        @Override
+        public void visit(MethodDeclaration method, Void arg) {
+            toEntry(method).ifPresent(methods::add);
+            super.visit(method, arg);
+        }
+
+        @Override
+        public void visit(ConstructorDeclaration constructor, Void arg) {
+            unsupported += length(constructor) > maxLength ? 1 : 0;
+            super.visit(constructor, arg);
+        }
+
+        @Override
+        public void visit(InitializerDeclaration initializer, Void arg) {
+            unsupported += length(initializer) > maxLength ? 1 : 0;
+            super.visit(initializer, arg);
+        }
+    }
+}
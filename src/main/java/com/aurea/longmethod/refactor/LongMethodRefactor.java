@@ -1,22 +1,31 @@
 package com.aurea.longmethod.refactor;
 
+import com.aurea.longmethod.refactor.AnalysisBudget.FileBudget;
+import com.aurea.longmethod.refactor.RefactoringMetrics.BudgetOutcome;
+import com.aurea.longmethod.refactor.RefactoringMetrics.CandidateOutcome;
+import com.aurea.longmethod.refactor.RefactoringMetrics.Phase;
+import com.aurea.longmethod.refactor.utils.NodeIntervals;
+import com.aurea.longmethod.refactor.utils.ParseUtils;
+import com.aurea.longmethod.refactor.utils.ResolutionCache;
+import com.aurea.longmethod.refactor.utils.ResolutionScope;
 import com.github.javaparser.JavaParser;
-import com.github.javaparser.Position;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -28,110 +37,376 @@ public class LongMethodRefactor {
     private static final String JAVA_SUFFIX = ".java";
 
     private final int maxLength;
-    private final String srcPaths;
+    private final boolean incremental;
     private final RefactoringCandidatesProvider candidatesProvider;
     private final ApplicableCandidateProvider applicableCandidateProvider;
+    private final ChangeScope changeScope;
+    private final SymbolSolverFactory symbolSolverFactory;
+    private final RefactoringPipelineFactory pipelineFactory;
+    private final SuggestionReport suggestionReport;
+    private final RefactoringMetrics metrics;
 
-    LongMethodRefactor(@Value("${maxLength:30}") int maxLength, @Value("${srcPaths}") String srcPaths,
-            RefactoringCandidatesProvider candidatesProvider,
-            ApplicableCandidateProvider applicableCandidateProvider) {
+    LongMethodRefactor(@Value("${maxLength:30}") int maxLength, @Value("${incremental:false}") boolean incremental,
+            RefactoringCandidatesProvider candidatesProvider, ApplicableCandidateProvider applicableCandidateProvider,
+            ChangeScope changeScope, SymbolSolverFactory symbolSolverFactory,
+            RefactoringPipelineFactory pipelineFactory, SuggestionReport suggestionReport, RefactoringMetrics metrics) {
         this.maxLength = maxLength;
-        this.srcPaths = srcPaths;
+        this.incremental = incremental;
         this.candidatesProvider = candidatesProvider;
         this.applicableCandidateProvider = applicableCandidateProvider;
+        this.changeScope = changeScope;
+        this.symbolSolverFactory = symbolSolverFactory;
+        this.pipelineFactory = pipelineFactory;
+        this.suggestionReport = suggestionReport;
+        this.metrics = metrics;
     }
 
     void refactorLongMethods() throws IOException {
-        for (String srcPath : srcPaths.split(",")) {
-            refactorLongMethods(Paths.get(srcPath));
+        List<Path> rootPaths = changeScope.getRootPaths();
+        //shared by the roots, so that types of one root are solved once for all
+        try (SymbolSolverPool symbolSolvers = symbolSolverFactory.newPool(rootPaths)) {
+            suggestionReport.start();
+            for (Path rootPath : rootPaths) {
+                refactorLongMethods(rootPath, symbolSolvers);
+            }
+            suggestionReport.finish();
+            long solvedTypes = symbolSolvers.getHits() + symbolSolvers.getMisses();
+            log.info("Type cache: {} types, {} hits, {} misses, {} evictions, {}% hit rate",
+                    symbolSolvers.getCachedTypes(), symbolSolvers.getHits(), symbolSolvers.getMisses(),
+                    symbolSolvers.getEvictions(), solvedTypes == 0 ? 0 : 100f * symbolSolvers.getHits() / solvedTypes);
+            log.info("Type loads: {} source files parsed by the type solvers", symbolSolvers.getLoadedFiles());
         }
-
+        metrics.logSummary();
     }
 
-    private void refactorLongMethods(Path rootPath) throws IOException {
-        JavaSymbolSolver symbolSolver = new JavaSymbolSolver(new JavaParserTypeSolver(rootPath));
-        List<Path> javaFiles = Files.walk(rootPath)
-                .filter(path -> Files.isRegularFile(path) && path.toFile().getName().endsWith(JAVA_SUFFIX))
-                .collect(Collectors.toList());
-        int total = javaFiles.size();
-        log.info("Performing Long Method refactoring for {} files in {}", total, rootPath);
-        for (int i = 0; i < total; i++) {
-            float percent = 100f * (i + 1) / total;
-            log.info("Refactoring {}: {}%s", javaFiles.get(i), percent);
-            try {
-                refactorLonMethods(javaFiles.get(i), symbolSolver);
-            } catch (Exception ex) { //NOPMD should not stop if failed to refactor a file for any reason
-                log.error("Failed to refactor file {}", javaFiles.get(i), ex);
+    private void refactorLongMethods(Path rootPath, SymbolSolverPool symbolSolvers) throws IOException {
+        Optional<Map<Path, MethodScope>> changedFiles = changeScope.getChangedFiles(rootPath);
+        //the files of a whole root are not counted upfront, that would take one more walk of the tree
+        int total = changedFiles.map(Map::size).orElse(0);
+        log.info("Performing Long Method refactoring in {} with parallelism {}", rootPath, symbolSolvers.size());
+        try (RefactoringPipeline pipeline = pipelineFactory.newPipeline(symbolSolvers.size(), maxLength, total,
+                suggestionReport.isEnabled(), rootPath, getConfiguration(), changedFiles.isPresent(),
+                (compilationUnit, content, scope, budget) -> refactorLonMethods(compilationUnit, content, scope, budget,
+                        symbolSolvers));
+                Stream<Path> javaFiles = findJavaFiles(rootPath, changedFiles)) {
+            //discovery is lazy, it waits on the pipeline for room before walking further
+            for (Iterator<Path> files = javaFiles.iterator(); files.hasNext();) {
+                Path javaFile = files.next();
+                pipeline.submit(javaFile, changedFiles.map(scopes -> scopes.get(javaFile))
+                        .orElse(MethodScope.wholeFile()));
+            }
+            int completed = pipeline.awaitCompletion();
+            log.info("Completed Long Method refactoring of {} files in {}, {} failed", completed, rootPath,
+                    pipeline.getFailed());
+            if (!suggestionReport.isEnabled()) { //a dry run leaves files as they are, whatever their outcome
+                pipeline.saveCache();
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while refactoring " + rootPath, ex);
         }
-        log.info("Completed Long Method refactoring for {}", rootPath);
     }
 
-    private void refactorLonMethods(Path path, JavaSymbolSolver symbolSolver) throws IOException {
-        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
-        CompilationUnit compilationUnit = getCompilationUnit(symbolSolver, content);
-        log.debug("Initial Methods: {}", countMethods(compilationUnit));
+    private static Stream<Path> findJavaFiles(Path rootPath, Optional<Map<Path, MethodScope>> changedFiles)
+            throws IOException {
+        if (changedFiles.isPresent()) {
+            return changedFiles.get().keySet().stream();
+        }
+        return Files.walk(rootPath)
+                .filter(path -> Files.isRegularFile(path) && path.toFile().getName().endsWith(JAVA_SUFFIX));
+    }
+
+    //everything an outcome depends on besides the content of the file
+    private String getConfiguration() {
+        return String.format("maxLength=%d, %s, %s, %s", maxLength, candidatesProvider, applicableCandidateProvider,
+                symbolSolverFactory);
+    }
+
+    /**
+     * Refactored content of the file, empty when it is left unchanged or the run is a dry run. An analysis parse of
+     * the file is only analysed in a dry run, it is otherwise parsed again in full from its content first: its
+     * extractions could not be applied, their analysis would be done again.
+     */
+    Optional<String> refactorLonMethods(CompilationUnit parsed, String content, MethodScope scope, FileBudget budget,
+            SymbolSolverPool symbolSolvers) throws InterruptedException {
+        JavaSymbolSolver symbolSolver = symbolSolvers.borrow();
+        try {
+            CompilationUnit compilationUnit = ParseUtils.isLean(parsed) && !suggestionReport.isEnabled()
+                    ? parseInFull(parsed, content, symbolSolver, scope) : prepare(parsed, symbolSolver, scope);
+            budget.attach(compilationUnit);
+            scope.select(compilationUnit);
+            log.debug("Initial Methods: {}", countMethods(compilationUnit));
+            LongMethodIndex index = indexLongMethods(compilationUnit);
+            return refactorInRounds(compilationUnit, index, scope, budget, symbolSolver);
+        } finally {
+            symbolSolvers.release(symbolSolver);
+        }
+    }
+
+    //changes to the full parse keep positions, the extracted methods of the analysis parse would have none
+    private CompilationUnit parseInFull(CompilationUnit parsed, String content, JavaSymbolSolver symbolSolver,
+            MethodScope scope) {
+        long started = System.nanoTime();
+        CompilationUnit compilationUnit = JavaParser.parse(content);
+        parsed.getStorage().ifPresent(storage -> compilationUnit.setStorage(storage.getPath()));
+        metrics.record(Phase.PARSE, System.nanoTime() - started);
+        metrics.countFullParse();
+        return prepare(compilationUnit, symbolSolver, scope);
+    }
+
+    private LongMethodIndex indexLongMethods(CompilationUnit compilationUnit) {
+        LongMethodIndex index = new LongMethodIndex(maxLength);
+        index.index(compilationUnit);
+        metrics.countUnresolvedTypes(ResolutionScope.countUnresolvedTypes(compilationUnit,
+                (type, method) -> index.contains(method) && MethodScope.of(type).contains(type, method)));
+        log.debug("Long methods, longest first: {}", index.byLength().stream()
+                .map(entry -> entry.getMethod().getNameAsString() + ':' + entry.getLength())
+                .collect(Collectors.joining(", ")));
+        if (index.getUnsupported() > 0) {
+            log.debug("Not refactoring {} long constructors, initializers and methods of anonymous or local classes",
+                    index.getUnsupported());
+        }
+        return index;
+    }
+
+    private Optional<String> refactorInRounds(CompilationUnit parsed, LongMethodIndex index, MethodScope scope,
+            FileBudget budget, JavaSymbolSolver symbolSolver) {
+        CompilationUnit compilationUnit = parsed;
+        //analyses of the methods a round did not get to apply, for rounds that do not parse the file again
+        Map<LongMethodIndex.Entry, MethodAnalysis> pending = new IdentityHashMap<>();
         boolean refactored = false;
         int round = 1;
-        while (refactorLongMethod(compilationUnit)) {
-            //re-init positions, set start and end lines to new added and modified methods
-            compilationUnit = getCompilationUnit(symbolSolver, compilationUnit.toString());
+        while (refactorLongMethod(compilationUnit, index, pending)) {
+            if (!incremental) {
+                pending.clear();
+                //re-init positions, set start and end lines to new added and modified methods
+                long started = System.nanoTime();
+                compilationUnit = prepare(JavaParser.parse(compilationUnit.toString()), symbolSolver, scope);
+                budget.attach(compilationUnit);
+                index.index(compilationUnit);
+                metrics.record(Phase.PARSE, System.nanoTime() - started);
+            }
             refactored = true;
             log.debug("Methods after round {} : {}", round, countMethods(compilationUnit));
+            if (isStopped(budget, parsed, round)) {
+                break;
+            }
             round++;
         }
-        if (refactored) {
-            Files.write(path, compilationUnit.toString().getBytes(StandardCharsets.UTF_8));
-        }
+        metrics.countRounds(round - 1);
+        return refactored ? Optional.of(compilationUnit.toString()) : Optional.empty();
+    }
 
+    private boolean isStopped(FileBudget budget, CompilationUnit parsed, int round) {
+        if (!budget.isFileExceeded()) {
+            return false;
+        }
+        budget.degrade();
+        metrics.count(BudgetOutcome.FILE_STOPPED);
+        log.warn("Over budget, stopped refactoring {} after round {}", parsed.getStorage()
+                .map(CompilationUnit.Storage::getPath).map(Object::toString).orElse("a file"), round);
+        return true;
     }
 
     private static int countMethods(Node node) {
         return node.findAll(MethodDeclaration.class).size();
     }
 
-    private static CompilationUnit getCompilationUnit(JavaSymbolSolver symbolSolver, String content) {
-        CompilationUnit compilationUnit = JavaParser.parse(content);
-        compilationUnit.setData(Node.SYMBOL_RESOLVER_KEY, symbolSolver);
+    private static CompilationUnit prepare(CompilationUnit compilationUnit, JavaSymbolSolver symbolSolver,
+            MethodScope scope) {
+        //symbols are solved in long methods only, the types named by the others are not loaded
+        ResolutionScope.attach(compilationUnit, symbolSolver);
+        scope.attach(compilationUnit);
         return compilationUnit;
     }
 
-    private boolean refactorLongMethod(CompilationUnit compilationUnit) {
-        return compilationUnit.getTypes().stream().filter(type -> type instanceof ClassOrInterfaceDeclaration)
-                .anyMatch(type -> refactorLongMethod(type.asClassOrInterfaceDeclaration()));
+    //methods left to search are consulted in the index, rounds that parse the file again index it again
+    private boolean refactorLongMethod(CompilationUnit compilationUnit, LongMethodIndex index,
+            Map<LongMethodIndex.Entry, MethodAnalysis> pending) {
+        //planned extractions: every long method is refactored in the same round
+        boolean firstOnly = applicableCandidateProvider.getMaxExtractions() <= 1;
+        List<LongMethodIndex.Entry> entries = index.getPending().stream()
+                .filter(entry -> MethodScope.of(entry.getType()).contains(entry.getType(), entry.getMethod()))
+                .collect(Collectors.toList());
+        //a round refactoring the first method with a plan analyses no more methods ahead than can run at once, and
+        //none when the file is parsed again after the round, their analyses would not outlive it
+        int batch = !firstOnly || suggestionReport.isEnabled() ? Math.max(1, entries.size())
+                : incremental ? candidatesProvider.getAnalysisParallelism() : 1;
+        boolean refactored = false;
+        for (int from = 0; from < entries.size() && !(refactored && firstOnly); from += batch) {
+            List<LongMethodIndex.Entry> analysed = entries.subList(from, Math.min(from + batch, entries.size()));
+            Map<LongMethodIndex.Entry, MethodAnalysis> analyses = analyse(compilationUnit, index, analysed, pending);
+            //applied one at a time in document order, as when analysed so
+            for (Iterator<LongMethodIndex.Entry> applied = analysed.iterator();
+                    applied.hasNext() && !(refactored && firstOnly);) {
+                LongMethodIndex.Entry entry = applied.next();
+                refactored |= ResolutionScope.resolving(entry.getMethod(),
+                        () -> refactorResolvedMethod(entry, analyses.remove(entry), index));
+            }
+            pending.putAll(analyses);
+        }
+        return refactored;
     }
 
-    private boolean refactorLongMethod(ClassOrInterfaceDeclaration type) {
-        return type.getMethods().stream().anyMatch(method -> refactorLongMethod(type, method));
+    //methods only read the file while analysed, longest first so that the last to start are the quickest, those
+    //analysed by an earlier round are not analysed again
+    private Map<LongMethodIndex.Entry, MethodAnalysis> analyse(CompilationUnit compilationUnit, LongMethodIndex index,
+            List<LongMethodIndex.Entry> entries, Map<LongMethodIndex.Entry, MethodAnalysis> pending) {
+        List<LongMethodIndex.Entry> scheduled = index.byLength().stream()
+                .filter(entry -> entries.contains(entry) && !pending.containsKey(entry)).collect(Collectors.toList());
+        List<MethodAnalysis> analyses = ResolutionScope.resolving(compilationUnit,
+                () -> candidatesProvider.analyseAll(scheduled, this::analyseMethod));
+        Map<LongMethodIndex.Entry, MethodAnalysis> byEntry = new IdentityHashMap<>();
+        entries.stream().filter(pending::containsKey).forEach(entry -> byEntry.put(entry, pending.remove(entry)));
+        for (int i = 0; i < scheduled.size(); i++) {
+            byEntry.put(scheduled.get(i), analyses.get(i));
+        }
+        return byEntry;
     }
 
-    private boolean refactorLongMethod(ClassOrInterfaceDeclaration type, MethodDeclaration method) {
-        Optional<Position> begin = method.getBegin();
-        Optional<Position> end = method.getEnd();
-        if (!begin.isPresent() || !end.isPresent()) {
+    private MethodAnalysis analyseMethod(LongMethodIndex.Entry entry) {
+        try {
+            Optional<CandidateSearch> search = searchWithinBudget(entry.getType(), entry.getMethod());
+            if (!search.isPresent()) {
+                return new MethodAnalysis(null, Collections.emptyList(), null);
+            }
+            long started = System.nanoTime();
+            List<ScoredCandidate> plan = applicableCandidateProvider.planExtractions(search.get(), maxLength);
+            metrics.record(Phase.SCORE, System.nanoTime() - started);
+            log.debug("Candidate ranges of {}: {} planned", entry.getMethod().getNameAsString(), plan.size());
+            return new MethodAnalysis(search.get(), plan, null);
+        } catch (RuntimeException ex) { //NOPMD thrown once the method is reached, see MethodAnalysis
+            return new MethodAnalysis(null, Collections.emptyList(), ex);
+        }
+    }
+
+    private boolean refactorResolvedMethod(LongMethodIndex.Entry entry, MethodAnalysis analysis,
+            LongMethodIndex index) {
+        TypeDeclaration<?> type = entry.getType();
+        MethodDeclaration method = entry.getMethod();
+        Optional<CandidateSearch> search = analysis.getSearch();
+        if (!search.isPresent()) {
+            if (suggestionReport.isEnabled()) {
+                suggestionReport.skip(type, method);
+            }
             return false;
         }
-        int length = end.get().line - begin.get().line + 1;
-        if (length <= maxLength) {
+        List<ScoredCandidate> plan = analysis.plan;
+        if (plan.isEmpty()) {
+            index.settle(entry);
             return false;
         }
-        List<RefactoringCandidate> candidates = method.getBody()
-                .map(body -> candidatesProvider.refactorLongStatement(body,
-                        Collections.emptyList(), Collections.emptyList())).orElse(Collections.emptyList());
-        Optional<ApplicableCandidate> bestRefactoring = applicableCandidateProvider
-                .chooseBestCandidate(candidates, method, type);
-        if (bestRefactoring.isPresent()) {
-            applyRefactoring(bestRefactoring.get(), type, method);
-            return true;
-        } else {
+        if (suggestionReport.isEnabled()) {
+            suggestionReport.add(type, method, plan, search.get().isTopLevelOnly());
             return false;
         }
+        List<MethodDeclaration> splitMethods = applyRefactorings(plan, type, method);
+        if (incremental) {
+            index.replace(entry, splitMethods);
+        }
+        return true;
+    }
+
+    //a search over budget falls back to the top level ranges, the method is skipped when that is over budget too
+    private Optional<CandidateSearch> searchWithinBudget(TypeDeclaration<?> type, MethodDeclaration method) {
+        FileBudget budget = FileBudget.of(method);
+        ResolutionCache resolutionCache = ResolutionCache.attach(method);
+        NodeIntervals.attach(method);
+        CandidateSearch search = budget.isFileExceeded() ? null : searchCandidates(type, method, false);
+        if (search != null && search.isExhausted()) {
+            budget.degrade();
+            metrics.count(BudgetOutcome.TOP_LEVEL_ONLY);
+            log.warn("Over budget, only the top level ranges of {} are searched", method.getNameAsString());
+            search = searchCandidates(type, method, true);
+        }
+        metrics.record(Phase.RESOLVE, resolutionCache.getResolveNanos());
+        log.debug("Resolution cache of {}: {} hits, {} misses", method.getNameAsString(), resolutionCache.getHits(),
+                resolutionCache.getMisses());
+        if (search == null || search.isExhausted()) {
+            budget.degrade();
+            metrics.count(BudgetOutcome.METHOD_SKIPPED);
+            log.warn("Over budget, skipped {}", method.getNameAsString());
+            return Optional.empty();
+        }
+        return Optional.of(search);
+    }
+
+    private CandidateSearch searchCandidates(TypeDeclaration<?> type, MethodDeclaration method,
+            boolean topLevelOnly) {
+        long started = System.nanoTime();
+        CandidateSearch search = applicableCandidateProvider.newSearch(method, type, topLevelOnly);
+        method.getBody().ifPresent(body -> candidatesProvider.refactorLongStatement(body, search));
+        //forks of the search score in parallel, their scoring time may add up to more than the search took
+        metrics.record(Phase.ENUMERATE, Math.max(0, System.nanoTime() - started - search.getScoringNanos()));
+        metrics.record(Phase.SCORE, search.getScoringNanos());
+        metrics.count(CandidateOutcome.GENERATED, search.getEnumerated());
+        metrics.count(CandidateOutcome.PRUNED, search.getPruned());
+        log.debug("Candidate ranges of {}: {} enumerated, {} pruned", method.getNameAsString(),
+                search.getEnumerated(), search.getPruned());
+        return search;
+    }
+
+    //methods the method was split into, the remaining one last
+    private List<MethodDeclaration> applyRefactorings(List<ScoredCandidate> plan, TypeDeclaration<?> type,
+            MethodDeclaration method) {
+        long started = System.nanoTime();
+        List<MethodDeclaration> changedMethods = new ArrayList<>();
+        MethodDeclaration current = method;
+        MethodScope scope = MethodScope.of(type);
+        for (ScoredCandidate extraction : plan) {
+            ApplicableCandidate candidate = ApplicableCandidateProvider.computeNewMethods(extraction, type, current);
+            scope.include(type, candidate.getCandidateMethod());
+            applyRefactoring(candidate, type, current);
+            changedMethods.add(candidate.getCandidateMethod());
+            current = candidate.getRemainingMethod();
+        }
+        changedMethods.add(current);
+        if (incremental) {
+            for (int i = 0; i < changedMethods.size(); i++) {
+                MethodDeclaration refreshed = refreshPositions(changedMethods.get(i));
+                changedMethods.get(i).replace(refreshed);
+                changedMethods.set(i, refreshed);
+            }
+        }
+        metrics.count(CandidateOutcome.APPLIED, plan.size());
+        metrics.record(Phase.APPLY, System.nanoTime() - started);
+        return changedMethods;
     }
 
-    private static void applyRefactoring(ApplicableCandidate candidate, ClassOrInterfaceDeclaration type,
+    private static void applyRefactoring(ApplicableCandidate candidate, TypeDeclaration<?> type,
             MethodDeclaration method) {
+        ResolutionCache.invalidate(method);
+        ResolutionCache.invalidate(candidate.getRemainingMethod()); //clones may carry the data of the original
+        NodeIntervals.invalidate(method);
+        NodeIntervals.invalidate(candidate.getRemainingMethod());
         type.addMember(candidate.getCandidateMethod());
         method.replace(candidate.getRemainingMethod());
     }
 
+    //only the changed methods are re-parsed, their lines then match the new content without touching the others
+    private static MethodDeclaration refreshPositions(MethodDeclaration method) {
+        return JavaParser.parseBodyDeclaration(method.toString()).asMethodDeclaration();
+    }
+
+    //outcome of the analysis of a method, no search when over budget
+    private static final class MethodAnalysis {
+
+        private final CandidateSearch search;
+        private final List<ScoredCandidate> plan;
+        private final RuntimeException failure;
+
+        private MethodAnalysis(CandidateSearch search, List<ScoredCandidate> plan, RuntimeException failure) {
+            this.search = search;
+            this.plan = plan;
+            this.failure = failure;
+        }
+
+        //a method failing to be analysed fails the file once reached, as when analysed in document order
+        Optional<CandidateSearch> getSearch() {
+            if (failure != null) {
+                throw failure;
+            }
+            return Optional.ofNullable(search);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.aurea.longmethod.refactor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +10,21 @@ import org.springframework.context.annotation.Configuration;
 public class LongMethodRefactorConfig {
 
     @Bean
-    CommandLineRunner longMethodRefactorRunner(LongMethodRefactor longMethodRefactor) {
-        return args -> longMethodRefactor.refactorLongMethods();
+    CommandLineRunner longMethodRefactorRunner(LongMethodRefactor longMethodRefactor,
+            RefactoringServer refactoringServer, SourceWatcher sourceWatcher) {
+        return args -> {
+            if (refactoringServer.isEnabled()) {
+                refactoringServer.serve();
+            } else if (sourceWatcher.isEnabled()) {
+                sourceWatcher.watch();
+            } else {
+                longMethodRefactor.refactorLongMethods();
+            }
+        };
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
     }
 }
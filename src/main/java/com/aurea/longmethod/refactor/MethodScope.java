@@ -0,0 +1,87 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Methods of a file a run is restricted to: those overlapping its changed lines, as first read, and the methods
+ * extracted from them. Methods are told apart by type and signature, which extractions keep.
+ */
+final class MethodScope {
+
+    private static final DataKey<MethodScope> METHOD_SCOPE_KEY = new DataKey<MethodScope>() {
+    };
+    private static final MethodScope WHOLE_FILE = new MethodScope(null);
+
+    //begin and end line of every change, null when the whole file is in scope
+    private final List<int[]> changedLines;
+    private final Set<String> methods = Collections.synchronizedSet(new HashSet<>());
+
+    private MethodScope(List<int[]> changedLines) {
+        this.changedLines = changedLines;
+    }
+
+    static MethodScope wholeFile() {
+        return WHOLE_FILE;
+    }
+
+    static MethodScope overlapping(List<int[]> changedLines) {
+        return new MethodScope(changedLines);
+    }
+
+    static MethodScope of(Node node) {
+        return node.getAncestorOfType(CompilationUnit.class).filter(unit -> unit.containsData(METHOD_SCOPE_KEY))
+                .map(unit -> unit.getData(METHOD_SCOPE_KEY)).orElse(WHOLE_FILE);
+    }
+
+    boolean isWholeFile() {
+        return changedLines == null;
+    }
+
+    void attach(CompilationUnit compilationUnit) {
+        compilationUnit.setData(METHOD_SCOPE_KEY, this);
+    }
+
+    /**
+     * Brings the methods overlapping the changed lines into scope, to be called on the file as read.
+     */
+    void select(CompilationUnit compilationUnit) {
+        if (isWholeFile()) {
+            return;
+        }
+        for (TypeDeclaration<?> type : compilationUnit.findAll(TypeDeclaration.class)) {
+            type.getMethods().stream().filter(this::overlapsChange).forEach(method -> include(type, method));
+        }
+    }
+
+    boolean contains(TypeDeclaration<?> type, MethodDeclaration method) {
+        return isWholeFile() || methods.contains(key(type, method));
+    }
+
+    void include(TypeDeclaration<?> type, MethodDeclaration method) {
+        if (!isWholeFile()) {
+            methods.add(key(type, method));
+        }
+    }
+
+    private boolean overlapsChange(MethodDeclaration method) {
+        Optional<Integer> begin = method.getBegin().map(position -> position.line);
+        Optional<Integer> end = method.getEnd().map(position -> position.line);
+        if (!begin.isPresent() || !end.isPresent()) {
+            return false;
+        }
+        return changedLines.stream().anyMatch(lines -> lines[0] <= end.get() && begin.get() <= lines[1]);
+    }
+
+    private static String key(TypeDeclaration<?> type, MethodDeclaration method) {
+        return type.getNameAsString() + '#' + method.getSignature().asString();
+    }
+}
@@ -2,6 +2,7 @@ package com.aurea.longmethod.refactor;
 
 import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import lombok.Builder;
@@ -11,10 +12,47 @@ import lombok.Getter;
 @Getter
 class RefactoringCandidate {
 
+    //latest in the document first: extracting a range leaves the paths of the ranges before it valid
+    static final Comparator<RefactoringCandidate> LATEST_FIRST = RefactoringCandidate::compareDocumentOrder;
+
     private final int firstStatement;
     private final int lastStatement;
     private final List<Integer> path;
     private final Set<ResolvedValueDeclaration> parameters;
     private final ResolvedValueDeclaration valueToAssign;
     private final ReturnStmt returnStmt;
+
+    /**
+     * Whether both ranges share a statement, directly or through the statements nested in it.
+     */
+    boolean overlaps(RefactoringCandidate other) {
+        int common = Math.min(path.size(), other.path.size());
+        for (int i = 0; i < common; i++) {
+            if (!path.get(i).equals(other.path.get(i))) {
+                return false;
+            }
+        }
+        if (path.size() == other.path.size()) {
+            return firstStatement <= other.lastStatement && other.firstStatement <= lastStatement;
+        }
+        return path.size() < other.path.size() ? contains(other.path.get(common))
+                : other.contains(path.get(common));
+    }
+
+    private boolean contains(int statement) {
+        return firstStatement <= statement && statement <= lastStatement;
+    }
+
+    private static int compareDocumentOrder(RefactoringCandidate first, RefactoringCandidate second) {
+        int common = Math.min(first.path.size(), second.path.size());
+        for (int i = 0; i < common; i++) {
+            int compared = Integer.compare(second.path.get(i), first.path.get(i));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        int firstPosition = first.path.size() > common ? first.path.get(common) : first.firstStatement;
+        int secondPosition = second.path.size() > common ? second.path.get(common) : second.firstStatement;
+        return Integer.compare(secondPosition, firstPosition);
+    }
 }
@@ -1,6 +1,8 @@
 package com.aurea.longmethod.refactor;
 
 import com.aurea.longmethod.refactor.utils.AstUtils;
+import com.aurea.longmethod.refactor.utils.DefUse;
+import com.aurea.longmethod.refactor.utils.DefUseIndex;
 import com.aurea.longmethod.refactor.utils.ResolveUtils;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.stmt.BreakStmt;
@@ -14,36 +16,81 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.apache.commons.collections4.ListUtils;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.ToString;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Enumerates the candidate ranges of a method. Analyses, of the long methods of a file or of the top level ranges of
+ * a long body, run on a fork-join pool of {@code analysisParallelism} workers, the available processors for 0. They
+ * only read the AST, whatever they change is applied by the caller once they are all done.
+ */
 @Component
+@ToString(of = "minStatements")
 public class RefactoringCandidatesProvider {
 
+    //bodies with fewer top level statements have too few ranges to be worth splitting
+    private static final int MIN_FORKED_STATEMENTS = 16;
+
     private final int minStatements;
+    @Getter
+    private final int analysisParallelism;
+    //none when analyses run one at a time, in the calling thread
+    private final ForkJoinPool pool;
 
-    public RefactoringCandidatesProvider(@Value("${minStatements:3}") int minStatements) {
+    public RefactoringCandidatesProvider(@Value("${minStatements:3}") int minStatements,
+            @Value("${analysisParallelism:0}") int analysisParallelism) {
         this.minStatements = minStatements;
+        this.analysisParallelism = analysisParallelism > 0 ? analysisParallelism
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = this.analysisParallelism > 1 ? new ForkJoinPool(this.analysisParallelism) : null;
+    }
+
+    /**
+     * Results of the analysis of every item, in the order of the items. Analyses run in parallel and are all done
+     * when this returns, the failure of the first failed item is then thrown.
+     */
+    <T, R> List<R> analyseAll(List<T> items, Function<T, R> analysis) {
+        if (pool == null || items.size() < 2) {
+            return items.stream().map(analysis).collect(Collectors.toList());
+        }
+        List<ForkJoinTask<R>> tasks = items.stream().map(item -> ForkJoinTask.adapt(() -> analysis.apply(item)))
+                .collect(Collectors.toList());
+        for (ForkJoinTask<R> task : tasks) {
+            //analyses of the ranges of a method are forked from the analysis of the method
+            if (ForkJoinTask.getPool() == pool) {
+                task.fork();
+            } else {
+                pool.execute(task);
+            }
+        }
+        tasks.forEach(ForkJoinTask::quietlyJoin);
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
     }
 
-    private static Optional<RefactoringCandidate> getRefactoringCandidate(Statement statement,
-            List<Statement> nextStatements, List<Statement> children, int begin, int end, List<Integer> candidatePath) {
+    private static Optional<RefactoringCandidate> getRefactoringCandidate(Statement statement, DefUse currentNext,
+            List<Statement> children, int begin, int end, List<Integer> candidatePath, DefUse currentUses,
+            DefUseIndex index, CandidateSearch search) {
         if (isFullMethodBody(statement, children, begin, end)) { //avoid moving entire method body to another method
             return Optional.empty();
         }
         List<Statement> currentStatements = children.subList(begin, end + 1);
-        if (isNotSupported(currentStatements)) {
+        if (!search.canImprove(currentStatements) || isNotSupported(currentStatements)) {
             return Optional.empty();
         }
+        currentUses.rethrowFailure();
+        currentNext.rethrowFailure(); //a value read after the range is not to be taken as unused
         Optional<ReturnStmt> lastReturn = AstUtils.getLastReturnStatement(currentStatements);
         ResolvedValueDeclaration valueToAssign = null;
         if (!lastReturn.isPresent()) {
-            List<ResolvedValueDeclaration> declarations = getDeclarations(currentStatements);
-            List<Statement> currentNext = AstUtils.getChildNextStatements(nextStatements, children, end);
-            for (ResolvedValueDeclaration declaration : declarations) {
-                if (shouldBeAssined(statement, currentNext, declaration)) {
+            for (ResolvedValueDeclaration declaration : currentUses.getWrittenValues()) {
+                if (currentNext.isUsed(declaration) || index.isDeclaredOutsideLoop(declaration, statement)) {
                     if (valueToAssign == null) {
                         valueToAssign = declaration;
                         //TODO refactor this to avod deeply nested ifs
@@ -53,25 +100,11 @@ public class RefactoringCandidatesProvider {
                 }
             }
         }
-        return buildRefactoringCandidate(begin, end, candidatePath, currentStatements, lastReturn.orElse(null),
+        Set<ResolvedValueDeclaration> parameters = index.getParameters(statement, children, begin, end, currentUses);
+        return buildRefactoringCandidate(begin, end, candidatePath, parameters, lastReturn.orElse(null),
                 valueToAssign);
     }
 
-    private static boolean shouldBeAssined(Statement statement, List<Statement> currentNext,
-            ResolvedValueDeclaration declaration) {
-        return AstUtils.isUsed(declaration, currentNext)
-                || ResolveUtils.isDeclaredOutsideLoop(declaration, statement);
-    }
-
-    private static List<ResolvedValueDeclaration> getDeclarations(List<Statement> currentStatements) {
-        List<ResolvedValueDeclaration> assignedVariables = AstUtils.getAssignedVariables(currentStatements);
-        List<ResolvedValueDeclaration> unaryAssignedVariables = AstUtils.getUnaryAssignedVariables(currentStatements);
-        List<ResolvedValueDeclaration> declaredVariables = AstUtils.getDeclaredVariables(currentStatements);
-        List<ResolvedValueDeclaration> variables = ListUtils.union(assignedVariables, unaryAssignedVariables);
-        variables = ListUtils.union(variables, declaredVariables);
-        return variables.stream().filter(AstUtils::isNotAField).collect(Collectors.toList());
-    }
-
     private static boolean isNotSupported(List<Statement> currentStatements) {
         if (AstUtils.containsReturnChildNode(currentStatements)) {
             return true;
@@ -104,9 +137,8 @@ public class RefactoringCandidatesProvider {
     }
 
     private static Optional<RefactoringCandidate> buildRefactoringCandidate(int begin, int end,
-            List<Integer> candidatePath, List<Statement> currentStatements, ReturnStmt lastReturn,
+            List<Integer> candidatePath, Set<ResolvedValueDeclaration> parameters, ReturnStmt lastReturn,
             ResolvedValueDeclaration valueToAssign) {
-        Set<ResolvedValueDeclaration> parameters = AstUtils.getParameters(currentStatements);
         if (parameters.stream()
                 .anyMatch(param -> !AstUtils.isAssignedOnDeclaration(param))) {
             return Optional.empty(); //value to assign might not have been initialized
@@ -122,27 +154,55 @@ public class RefactoringCandidatesProvider {
         return Optional.of(refactoringCandidate);
     }
 
-    List<RefactoringCandidate> refactorLongStatement(Statement statement,
-            List<Statement> nextStatements, List<Integer> candidatePath) {
+    void refactorLongStatement(Statement body, CandidateSearch search) {
+        refactorLongStatement(body, DefUse.empty(), Collections.emptyList(), DefUseIndex.build(body), search);
+    }
+
+    private void refactorLongStatement(Statement statement, DefUse nextUses, List<Integer> candidatePath,
+            DefUseIndex index, CandidateSearch search) {
         if (statement.isTryStmt() && !statement.asTryStmt().getCatchClauses().isEmpty()) {
-            return Collections.emptyList();
+            return;
         }
         List<Statement> children = AstUtils.getStatementChildren(statement);
-        List<RefactoringCandidate> candidates = new ArrayList<>();
-        for (int i = 0; i < children.size(); i++) {
-            Statement child = children.get(i);
-            List<Statement> childNextStatements = AstUtils.getChildNextStatements(nextStatements, children, i);
+        List<DefUse> followingUses = index.getFollowingUses(children, nextUses);
+        for (int i = 0; i < children.size() && !search.isTopLevelOnly(); i++) {
             List<Integer> newPath = new ArrayList<>(candidatePath);
             newPath.add(i);
-            candidates.addAll(refactorLongStatement(child, childNextStatements, newPath));
+            refactorLongStatement(children.get(i), followingUses.get(i), newPath, index, search);
+        }
+        if (pool != null && candidatePath.isEmpty() && children.size() >= MIN_FORKED_STATEMENTS && search.canFork()) {
+            refactorTopLevelRanges(statement, children, followingUses, index, search);
+            return;
         }
-        for (int begin = 0; begin <= children.size() - minStatements; begin++) {
-            for (int end = begin + minStatements - 1; end <= children.size() - 1; end++) {
-                Optional<RefactoringCandidate> candidate = getRefactoringCandidate(statement, nextStatements, children,
-                        begin, end, candidatePath);
-                candidate.ifPresent(candidates::add);
+        for (int begin = 0; begin <= children.size() - minStatements && !search.isExhausted(); begin++) {
+            refactorRanges(statement, children, followingUses, begin, candidatePath, index, search);
+        }
+    }
+
+    //one search per first statement, merged in enumeration order: the best are those of a search of all of them
+    private void refactorTopLevelRanges(Statement statement, List<Statement> children, List<DefUse> followingUses,
+            DefUseIndex index, CandidateSearch search) {
+        List<Integer> begins = IntStream.rangeClosed(0, children.size() - minStatements).boxed()
+                .collect(Collectors.toList());
+        search.join(analyseAll(begins, begin -> {
+            CandidateSearch shard = search.fork();
+            if (!shard.isExhausted()) {
+                refactorRanges(statement, children, followingUses, begin, Collections.emptyList(), index, shard);
             }
+            return shard;
+        }));
+    }
+
+    private void refactorRanges(Statement statement, List<Statement> children, List<DefUse> followingUses, int begin,
+            List<Integer> candidatePath, DefUseIndex index, CandidateSearch search) {
+        DefUse currentUses = DefUse.empty(); //grows with end, so each range costs one merge instead of a walk
+        for (int i = begin; i < begin + minStatements - 1; i++) {
+            currentUses.addAll(index.get(children.get(i)));
+        }
+        for (int end = begin + minStatements - 1; end <= children.size() - 1; end++) {
+            currentUses.addAll(index.get(children.get(end)));
+            getRefactoringCandidate(statement, followingUses.get(end), children, begin, end, candidatePath,
+                    currentUses, index, search).ifPresent(search::offer);
         }
-        return candidates;
     }
 }
@@ -0,0 +1,168 @@
+package com.aurea.longmethod.refactor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time spent in each phase of a run and counts of candidates, rounds and files, registered as Micrometer meters and
+ * logged as a summary at the end of the run. Files taking longer than {@code slowFileMillis} are logged as they
+ * complete.
+ */
+@Component
+@Slf4j
+public class RefactoringMetrics {
+
+    private static final String OUTCOME = "outcome";
+
+    private final long slowFileMillis;
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Map<CandidateOutcome, Counter> candidates = new EnumMap<>(CandidateOutcome.class);
+    private final Map<FileOutcome, Counter> files = new EnumMap<>(FileOutcome.class);
+    private final Map<BudgetOutcome, Counter> budgets = new EnumMap<>(BudgetOutcome.class);
+    private final DistributionSummary rounds;
+    private final DistributionSummary parseAllocations;
+    private final Counter fullParses;
+    private final Counter unresolvedTypes;
+
+    /**
+     * Symbol resolutions are also part of the time of the phase they are triggered from.
+     */
+    enum Phase {
+        PARSE, RESOLVE, ENUMERATE, SCORE, APPLY, WRITE
+    }
+
+    enum CandidateOutcome {
+        GENERATED, PRUNED, APPLIED
+    }
+
+    /**
+     * Skipped files are unchanged since the last run, filtered ones have no member long enough to be parsed.
+     */
+    enum FileOutcome {
+        REFACTORED, UNCHANGED, SKIPPED, FILTERED, FAILED
+    }
+
+    /**
+     * Methods searched at top level only or skipped, and files whose rounds were stopped, over their budget.
+     */
+    enum BudgetOutcome {
+        TOP_LEVEL_ONLY, METHOD_SKIPPED, FILE_STOPPED
+    }
+
+    public RefactoringMetrics(MeterRegistry registry, @Value("${slowFileMillis:10000}") long slowFileMillis) {
+        this.slowFileMillis = slowFileMillis;
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("longmethod.phase").tag("phase", tagOf(phase)).register(registry));
+        }
+        for (CandidateOutcome outcome : CandidateOutcome.values()) {
+            candidates.put(outcome, Counter.builder("longmethod.candidates").tag(OUTCOME, tagOf(outcome))
+                    .register(registry));
+        }
+        for (FileOutcome outcome : FileOutcome.values()) {
+            files.put(outcome, Counter.builder("longmethod.files").tag(OUTCOME, tagOf(outcome)).register(registry));
+        }
+        for (BudgetOutcome outcome : BudgetOutcome.values()) {
+            budgets.put(outcome, Counter.builder("longmethod.budget.exceeded").tag(OUTCOME, tagOf(outcome))
+                    .register(registry));
+        }
+        rounds = DistributionSummary.builder("longmethod.rounds").description("Refactoring rounds per file")
+                .register(registry);
+        parseAllocations = DistributionSummary.builder("longmethod.parse.allocated")
+                .description("Heap allocated by the parse of a file").baseUnit("bytes").register(registry);
+        fullParses = Counter.builder("longmethod.parse.full").description("Files parsed again in full to be rewritten")
+                .register(registry);
+        unresolvedTypes = Counter.builder("longmethod.types.unresolved")
+                .description("Estimate of the types named only in methods not long enough to be resolved")
+                .register(registry);
+    }
+
+    void record(Phase phase, long nanos) {
+        phases.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void count(CandidateOutcome outcome, long count) {
+        candidates.get(outcome).increment(count);
+    }
+
+    void count(BudgetOutcome outcome) {
+        budgets.get(outcome).increment();
+    }
+
+    void countRounds(int fileRounds) {
+        rounds.record(fileRounds);
+    }
+
+    void recordParse(Path path, long allocatedBytes) {
+        parseAllocations.record(allocatedBytes);
+        log.debug("Parsed {}, {} bytes allocated", path, allocatedBytes);
+    }
+
+    /**
+     * Heap allocated by the current thread so far, 0 on a JVM that does not tell.
+     */
+    static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled()) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    void countFullParse() {
+        fullParses.increment();
+    }
+
+    void countUnresolvedTypes(int types) {
+        unresolvedTypes.increment(types);
+    }
+
+    void complete(Path path, FileOutcome outcome, long nanos) {
+        files.get(outcome).increment();
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis > slowFileMillis) {
+            log.warn("Slow file {}: {} ms, {}", path, millis, tagOf(outcome));
+        }
+    }
+
+    void logSummary() {
+        //maximums of Micrometer decay over time, means hold for the whole run
+        phases.forEach((phase, timer) -> log.info("Phase {}: {} ms in {} calls, {} ms on average", tagOf(phase),
+                (long) timer.totalTime(TimeUnit.MILLISECONDS), timer.count(),
+                String.format(Locale.ROOT, "%.3f", timer.mean(TimeUnit.MILLISECONDS))));
+        log.info("Candidates: {} generated, {} pruned, {} applied", count(candidates.get(CandidateOutcome.GENERATED)),
+                count(candidates.get(CandidateOutcome.PRUNED)), count(candidates.get(CandidateOutcome.APPLIED)));
+        log.info("Files: {} refactored, {} unchanged, {} skipped, {} filtered, {} failed, {} rounds per analysed file"
+                + " on average", count(files.get(FileOutcome.REFACTORED)), count(files.get(FileOutcome.UNCHANGED)),
+                count(files.get(FileOutcome.SKIPPED)), count(files.get(FileOutcome.FILTERED)),
+                count(files.get(FileOutcome.FAILED)),
+                String.format(Locale.ROOT, "%.2f", rounds.mean()));
+        log.info("Over budget: {} methods searched at top level only, {} methods skipped, {} files stopped",
+                count(budgets.get(BudgetOutcome.TOP_LEVEL_ONLY)), count(budgets.get(BudgetOutcome.METHOD_SKIPPED)),
+                count(budgets.get(BudgetOutcome.FILE_STOPPED)));
+        log.info("Parse: {} KB allocated per file on average, {} files parsed again in full to be rewritten",
+                String.format(Locale.ROOT, "%.0f", parseAllocations.mean() / 1024), count(fullParses));
+        log.info("Symbol resolution: about {} type loads avoided, by the simple names found only in methods not long"
+                + " enough to be resolved", count(unresolvedTypes));
+    }
+
+    private static long count(Counter counter) {
+        return (long) counter.count();
+    }
+
+    private static String tagOf(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
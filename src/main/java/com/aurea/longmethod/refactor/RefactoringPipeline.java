@@ -0,0 +1,296 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.AnalysisBudget.FileBudget;
+import com.aurea.longmethod.refactor.RefactoringMetrics.FileOutcome;
+import com.aurea.longmethod.refactor.RefactoringMetrics.Phase;
+import com.aurea.longmethod.refactor.utils.LexicalScan;
+import com.aurea.longmethod.refactor.utils.ParseUtils;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Files go through read, parse, analysis and write stages, each with its own executor, so that I/O and parsing
+ * overlap with the analysis of other files. Each stage queues a bounded number of files, a stage with a full queue
+ * makes the one before it wait, so parsed files do not pile up in front of a slow analysis. At most {@code capacity}
+ * files are in flight: discovery waits for any of them to complete before letting another in, which keeps memory flat
+ * while a slow file does not hold back the others. Files whose members are all short, as a lexical scan tells, are not
+ * parsed. When no file is to be rewritten, the others are parsed for analysis only, with their tokens released.
+ * <p>
+ * Files complete in any order, they are reported in the order they were submitted.
+ */
+@Slf4j
+class RefactoringPipeline implements AutoCloseable {
+
+    private static final int FILES_PER_WORKER = 4;
+    private static final int QUEUED_PER_WORKER = 1;
+
+    private final int maxLength;
+    private final boolean analysisOnly;
+    private final AnalysisCache.Session cache;
+    private final SourceWriter sourceWriter;
+    private final RefactoringMetrics metrics;
+    private final AnalysisBudget analysisBudget;
+    private final Analysis analysis;
+    private final ExecutorService io;
+    private final ExecutorService parsers;
+    private final ExecutorService analysers;
+    private final ExecutorService writers;
+    private final int capacity;
+    private final Semaphore inFlight;
+    private final int total;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    //reports of completed files waiting for those submitted before them, by submission index
+    private final Map<Integer, Runnable> pendingReports = new HashMap<>();
+    private int submitted;
+    private int reported;
+
+    @FunctionalInterface
+    interface Analysis {
+
+        /**
+         * Refactored content of the file, empty when it is left unchanged. The file comes as an analysis parse of
+         * its content.
+         */
+        Optional<String> refactor(CompilationUnit compilationUnit, String content, MethodScope scope,
+                FileBudget budget) throws InterruptedException;
+    }
+
+    /**
+     * Progress is reported out of the {@code total} files expected to be submitted, as a count of the files done when
+     * the total is not known upfront, 0. Files are parsed for analysis only
+     * when {@code analysisOnly}, in a dry run.
+     */
+    RefactoringPipeline(int parallelism, int maxLength, int total, boolean analysisOnly, AnalysisCache.Session cache,
+            SourceWriter sourceWriter, RefactoringMetrics metrics, AnalysisBudget analysisBudget, Analysis analysis) {
+        this.maxLength = maxLength;
+        this.analysisOnly = analysisOnly;
+        this.total = total;
+        this.cache = cache;
+        this.sourceWriter = sourceWriter;
+        this.metrics = metrics;
+        this.analysisBudget = analysisBudget;
+        this.analysis = analysis;
+        //writes have their own stage: stages wait on the next one only, a cycle of full queues would deadlock
+        io = newStage(parallelism);
+        parsers = newStage(parallelism);
+        analysers = newStage(parallelism);
+        writers = newStage(parallelism);
+        capacity = FILES_PER_WORKER * parallelism;
+        inFlight = new Semaphore(capacity);
+    }
+
+    void submit(Path path, MethodScope scope) throws InterruptedException {
+        inFlight.acquire();
+        SourceFile file = new SourceFile(submitted++, path, scope);
+        CompletableFuture.completedFuture(file)
+                .thenApplyAsync(this::read, io)
+                .thenApplyAsync(this::parse, parsers)
+                .thenApplyAsync(this::analyse, analysers)
+                .thenApplyAsync(this::write, writers)
+                .whenComplete((result, failure) -> complete(file, failure));
+    }
+
+    /**
+     * Waits for the files in flight, returns the number of files completed so far.
+     */
+    int awaitCompletion() throws InterruptedException {
+        inFlight.acquire(capacity);
+        inFlight.release(capacity);
+        return completed.get();
+    }
+
+    int getFailed() {
+        return failed.get();
+    }
+
+    void saveCache() throws IOException {
+        cache.save();
+    }
+
+    @Override
+    public void close() {
+        io.shutdownNow();
+        parsers.shutdownNow();
+        analysers.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    //a full queue makes the thread handing a file to the stage wait for room
+    private static ExecutorService newStage(int parallelism) {
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUED_PER_WORKER * parallelism), (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Pipeline closed");
+                    }
+                    try {
+                        executor.getQueue().put(task);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(ex);
+                    }
+                });
+    }
+
+    private SourceFile read(SourceFile file) {
+        file.started = System.nanoTime();
+        try {
+            file.content = Files.readAllBytes(file.path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (cache.isUpToDate(file.path, file.content)) {
+            log.debug("Skipped {}, unchanged since the last run", file.path);
+            file.content = null;
+            return file;
+        }
+        file.text = new String(file.content, StandardCharsets.UTF_8);
+        file.filtered = LexicalScan.longestMember(file.text) <= maxLength;
+        if (file.filtered) {
+            log.debug("Skipped {}, no member longer than {} lines", file.path, maxLength);
+        }
+        return file;
+    }
+
+    private SourceFile parse(SourceFile file) {
+        if (file.content != null && !file.filtered) {
+            long started = System.nanoTime();
+            long allocated = RefactoringMetrics.allocatedBytes();
+            file.compilationUnit = JavaParser.parse(file.text);
+            file.compilationUnit.setStorage(file.path);
+            metrics.recordParse(file.path, RefactoringMetrics.allocatedBytes() - allocated);
+            if (analysisOnly) {
+                ParseUtils.releaseTokens(file.compilationUnit);
+            }
+            metrics.record(Phase.PARSE, System.nanoTime() - started);
+        }
+        return file;
+    }
+
+    private SourceFile analyse(SourceFile file) {
+        if (file.compilationUnit != null) {
+            try {
+                file.budget = analysisBudget.startFile();
+                file.refactored = analysis.refactor(file.compilationUnit, file.text, file.scope, file.budget)
+                        .map(content -> sourceWriter.format(file.text, content).getBytes(StandardCharsets.UTF_8))
+                        .orElse(null);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(ex);
+            }
+            file.compilationUnit = null;
+        }
+        file.text = null;
+        return file;
+    }
+
+    private SourceFile write(SourceFile file) {
+        if (file.content == null) {
+            return file;
+        }
+        if (file.refactored != null) {
+            long started = System.nanoTime();
+            try {
+                sourceWriter.write(file.path, file.refactored);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            metrics.record(Phase.WRITE, System.nanoTime() - started);
+        }
+        //outcomes of part of a file do not tell about the rest of it, nor those cut short about a next run
+        if (file.scope.isWholeFile() && (file.budget == null || !file.budget.isDegraded())) {
+            cache.record(file.path, file.refactored == null ? file.content : file.refactored,
+                    file.refactored == null ? AnalysisCache.Outcome.UNCHANGED : AnalysisCache.Outcome.REFACTORED);
+        }
+        return file;
+    }
+
+    //should not stop if failed to refactor a file for any reason
+    private void complete(SourceFile file, Throwable failure) {
+        try {
+            completed.incrementAndGet();
+            metrics.complete(file.path, outcomeOf(file, failure), System.nanoTime() - file.started);
+            if (failure == null) {
+                report(file.index, done -> log.info("Refactored {} ({})", file.path, progressOf(done)));
+            } else {
+                failed.incrementAndGet();
+                if (file.content != null) {
+                    cache.record(file.path, file.content, AnalysisCache.Outcome.FAILED);
+                }
+                Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                report(file.index, done -> log.error("Failed to refactor file {} ({})", file.path, progressOf(done),
+                        cause));
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    //logs the reports of all the files up to the first one still in flight
+    private synchronized void report(int index, IntConsumer fileReport) {
+        pendingReports.put(index, () -> fileReport.accept(reported + 1));
+        for (Runnable next = pendingReports.remove(reported); next != null;
+                next = pendingReports.remove(reported)) {
+            next.run();
+            reported++;
+        }
+    }
+
+    private String progressOf(int done) {
+        return total == 0 ? String.valueOf(done)
+                : String.format("%d/%d, %d%%", done, Math.max(total, done), Math.min(100, 100 * done / total));
+    }
+
+    private static FileOutcome outcomeOf(SourceFile file, Throwable failure) {
+        if (failure != null) {
+            return FileOutcome.FAILED;
+        }
+        if (file.content == null) {
+            return FileOutcome.SKIPPED;
+        }
+        if (file.filtered) {
+            return FileOutcome.FILTERED;
+        }
+        return file.refactored == null ? FileOutcome.UNCHANGED : FileOutcome.REFACTORED;
+    }
+
+    //handed from stage to stage, a single stage works on it at a time
+    private static final class SourceFile {
+
+        private final int index;
+        private final Path path;
+        private final MethodScope scope;
+        private byte[] content;
+        private String text;
+        private boolean filtered;
+        private CompilationUnit compilationUnit;
+        private byte[] refactored;
+        private FileBudget budget;
+        private long started;
+
+        private SourceFile(int index, Path path, MethodScope scope) {
+            this.index = index;
+            this.path = path;
+            this.scope = scope;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aurea.longmethod.refactor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the pipeline of a source root, reading and recording the outcomes of its files in the analysis cache and
+ * giving each file its analysis budget.
+ */
+@Component
+public class RefactoringPipelineFactory {
+
+    private final AnalysisCache analysisCache;
+    private final SourceWriter sourceWriter;
+    private final RefactoringMetrics metrics;
+    private final AnalysisBudget analysisBudget;
+
+    public RefactoringPipelineFactory(AnalysisCache analysisCache, SourceWriter sourceWriter,
+            RefactoringMetrics metrics, AnalysisBudget analysisBudget) {
+        this.analysisCache = analysisCache;
+        this.sourceWriter = sourceWriter;
+        this.metrics = metrics;
+        this.analysisBudget = analysisBudget;
+    }
+
+    /**
+     * A partial run keeps the cache entries of the files it does not go through. Files with no member longer than
+     * {@code maxLength} are not analysed. Progress is reported out of {@code total} files, 0 when not known. Files are parsed for
+     * analysis only when {@code analysisOnly}.
+     */
+    RefactoringPipeline newPipeline(int parallelism, int maxLength, int total, boolean analysisOnly, Path rootPath,
+            String configuration, boolean partial, RefactoringPipeline.Analysis analysis) throws IOException {
+        AnalysisCache.Session cache = analysisCache.open(rootPath, configuration, partial);
+        return new RefactoringPipeline(parallelism, maxLength, total, analysisOnly, cache, sourceWriter, metrics,
+                analysisBudget, analysis);
+    }
+}
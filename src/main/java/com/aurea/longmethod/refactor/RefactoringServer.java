@@ -0,0 +1,208 @@
+package com.aurea.longmethod.refactor;
+
+import com.aurea.longmethod.refactor.utils.ParseUtils;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Long-running mode: the symbol solvers of the source roots are built once and stay warm between requests, but for the
+ * types of the files changed on disk since they were solved. Requests are read one per line from the standard input
+ * when {@code serve} is {@code -}, or from the clients of the loopback port it names.
+ * <ul>
+ * <li>{@code analyse <file>[:<line>[-<line>]]} answers the suggestions for the long methods of the file, or of those
+ * overlapping the lines, as the dry run reports them</li>
+ * <li>{@code refactor <file>[:<line>[-<line>]]} refactors them in place</li>
+ * <li>{@code quit} closes the connection, {@code shutdown} stops the server</li>
+ * </ul>
+ * Every request is answered by a final status line.
+ */
+@Component
+@Slf4j
+public class RefactoringServer {
+
+    private static final String STDIN = "-";
+    private static final String ANALYSE = "analyse";
+    private static final String QUIT = "quit";
+    private static final String SHUTDOWN = "shutdown";
+    private static final Pattern REQUEST = Pattern.compile("(analyse|refactor)\\s+(.+?)(?::(\\d+)(?:-(\\d+))?)?");
+
+    private final String serve;
+    private final LongMethodRefactor longMethodRefactor;
+    private final ChangeScope changeScope;
+    private final SymbolSolverFactory symbolSolverFactory;
+    private final SourceWriter sourceWriter;
+    private final SuggestionReport suggestionReport;
+    private final AnalysisBudget analysisBudget;
+
+    public RefactoringServer(@Value("${serve:}") String serve, LongMethodRefactor longMethodRefactor,
+            ChangeScope changeScope, SymbolSolverFactory symbolSolverFactory, SourceWriter sourceWriter,
+            SuggestionReport suggestionReport, AnalysisBudget analysisBudget) {
+        this.serve = serve;
+        this.longMethodRefactor = longMethodRefactor;
+        this.changeScope = changeScope;
+        this.symbolSolverFactory = symbolSolverFactory;
+        this.sourceWriter = sourceWriter;
+        this.suggestionReport = suggestionReport;
+        this.analysisBudget = analysisBudget;
+    }
+
+    boolean isEnabled() {
+        return !StringUtils.isEmpty(serve);
+    }
+
+    void serve() throws IOException {
+        try (SymbolSolverPool symbolSolvers = symbolSolverFactory.newPool(changeScope.getRootPaths())) {
+            if (STDIN.equals(serve)) {
+                log.info("Serving requests from the standard input");
+                serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), symbolSolvers);
+                return;
+            }
+            try (ServerSocket serverSocket = new ServerSocket(Integer.parseInt(serve), 0,
+                    InetAddress.getLoopbackAddress())) {
+                log.info("Serving requests on port {}", serverSocket.getLocalPort());
+                boolean running = true;
+                while (running) { //clients are served one after the other, as requests of a client are
+                    try (Socket client = serverSocket.accept();
+                            BufferedReader requests = new BufferedReader(new InputStreamReader(
+                                    client.getInputStream(), StandardCharsets.UTF_8));
+                            Writer responses = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(),
+                                    StandardCharsets.UTF_8))) {
+                        running = serve(requests, responses, symbolSolvers);
+                    }
+                }
+            }
+        }
+    }
+
+    //false once asked to shut down
+    private boolean serve(BufferedReader requests, Writer responses, SymbolSolverPool symbolSolvers)
+            throws IOException {
+        for (String line = requests.readLine(); line != null; line = requests.readLine()) {
+            String request = line.trim();
+            if (QUIT.equals(request)) {
+                return true;
+            }
+            if (SHUTDOWN.equals(request)) {
+                return false;
+            }
+            if (!request.isEmpty()) {
+                handle(request, responses, symbolSolvers);
+                responses.flush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Answers a request, a failed one with an error status line.
+     */
+    void handle(String request, Writer responses, SymbolSolverPool symbolSolvers) throws IOException {
+        long started = System.nanoTime();
+        Matcher matcher = REQUEST.matcher(request);
+        if (!matcher.matches()) {
+            responses.write(error("Unknown request " + request));
+            return;
+        }
+        Path path = Paths.get(matcher.group(2));
+        MethodScope scope = matcher.group(3) == null ? MethodScope.wholeFile()
+                : MethodScope.overlapping(Collections.singletonList(new int[] {Integer.parseInt(matcher.group(3)),
+                        Integer.parseInt(matcher.group(matcher.group(4) == null ? 3 : 4))}));
+        try {
+            invalidateModified(path, symbolSolvers);
+            boolean refactored = ANALYSE.equals(matcher.group(1)) ? analyse(path, scope, responses, symbolSolvers)
+                    : refactor(path, scope, symbolSolvers);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("{} in {} ms", request, millis);
+            responses.write("{\"status\":\"ok\",\"file\":" + SuggestionReport.quote(path.toString())
+                    + ",\"refactored\":" + refactored + ",\"millis\":" + millis + "}\n");
+        } catch (IOException | RuntimeException ex) { //a failed request leaves the server serving the next ones
+            log.error("Failed to serve {}", request, ex);
+            responses.write(error(String.valueOf(ex.getMessage())));
+        }
+    }
+
+    private boolean analyse(Path path, MethodScope scope, Writer responses, SymbolSolverPool symbolSolvers)
+            throws IOException {
+        suggestionReport.start(responses);
+        try {
+            refactor(path, new String(Files.readAllBytes(path), StandardCharsets.UTF_8), scope, symbolSolvers);
+        } finally {
+            suggestionReport.finish();
+        }
+        return false;
+    }
+
+    private boolean refactor(Path path, MethodScope scope, SymbolSolverPool symbolSolvers) throws IOException {
+        String original = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        Optional<String> refactored = refactor(path, original, scope, symbolSolvers);
+        if (refactored.isPresent()) {
+            sourceWriter.write(path, sourceWriter.format(original, refactored.get())
+                    .getBytes(StandardCharsets.UTF_8));
+            invalidate(path, symbolSolvers);
+        }
+        return refactored.isPresent();
+    }
+
+    //the cached types of a rewritten file are those of its former content
+    private static void invalidate(Path path, SymbolSolverPool symbolSolvers) {
+        try {
+            symbolSolvers.invalidate(Collections.singletonList(path));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while invalidating the types of " + path, ex);
+        }
+    }
+
+    //files are edited between requests, by the client or anyone else: the requested one even within the same second
+    private static void invalidateModified(Path path, SymbolSolverPool symbolSolvers) {
+        invalidate(path, symbolSolvers);
+        try {
+            symbolSolvers.invalidateModified();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while invalidating the modified types", ex);
+        }
+    }
+
+    private Optional<String> refactor(Path path, String content, MethodScope scope, SymbolSolverPool symbolSolvers) {
+        CompilationUnit compilationUnit = JavaParser.parse(content);
+        compilationUnit.setStorage(path);
+        if (suggestionReport.isEnabled()) { //a file to rewrite is kept in full
+            ParseUtils.releaseTokens(compilationUnit);
+        }
+        try {
+            return longMethodRefactor.refactorLonMethods(compilationUnit, content, scope, analysisBudget.startFile(),
+                    symbolSolvers);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while refactoring " + path, ex);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"status\":\"error\",\"message\":" + SuggestionReport.quote(message) + "}\n";
+    }
+}
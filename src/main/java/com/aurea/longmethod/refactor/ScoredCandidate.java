@@ -0,0 +1,19 @@
+package com.aurea.longmethod.refactor;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder(toBuilder = true)
+@Getter
+class ScoredCandidate {
+
+    private final RefactoringCandidate candidate;
+    private final float score;
+    private final float lengthScore;
+    private final int nestDepthScore;
+    private final float nestAreaScore;
+    private final int paramsScore;
+    private final boolean reducesLength;
+    private final int remainingLength;
+    private final int sequence;
+}
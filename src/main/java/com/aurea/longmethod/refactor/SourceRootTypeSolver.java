@@ -0,0 +1,202 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Solves the types of a source directory the way the javaparser solver does, keeping at most {@code cacheSize} parsed
+ * files and as many found types, least recently used first out. Unlike the javaparser solver, it can forget a single
+ * changed file of the directory: the types found in other files stay parsed.
+ */
+class SourceRootTypeSolver implements TypeSolver {
+
+    private static final String JAVA_SUFFIX = ".java";
+
+    private final Path rootPath;
+    private final Map<Path, Optional<CompilationUnit>> parsedFiles;
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> foundTypes;
+    //file every type was found in, names only, kept once the type is evicted so that a change still evicts it upstream
+    private final Map<String, Path> declaringFiles = new HashMap<>();
+    //last modified time of every file parsed so far, to tell the files changed since by anyone
+    private final Map<Path, FileTime> modifiedTimes = new HashMap<>();
+    private TypeSolver parent;
+    private long loadedFiles;
+
+    SourceRootTypeSolver(Path rootPath, int cacheSize) {
+        this.rootPath = rootPath.toAbsolutePath().normalize();
+        parsedFiles = newCache(Math.max(1, cacheSize));
+        foundTypes = newCache(Math.max(1, cacheSize));
+        //register the facade upfront, JavaParserFacade instances map is not thread safe
+        JavaParserFacade.get(this);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> type = foundTypes.get(name);
+        if (type == null) {
+            type = findType(name);
+            foundTypes.put(name, type);
+        }
+        return type;
+    }
+
+    /**
+     * Files of the directory parsed so far, those parsed again once evicted or changed included.
+     */
+    long getLoadedFiles() {
+        return loadedFiles;
+    }
+
+    boolean contains(Path file) {
+        return file.toAbsolutePath().normalize().startsWith(rootPath);
+    }
+
+    /**
+     * Files parsed so far changed or deleted since they were parsed.
+     */
+    List<Path> findModifiedFiles() {
+        return modifiedTimes.entrySet().stream().filter(entry -> !entry.getValue().equals(lastModified(entry.getKey())))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Forgets a changed file of the directory, and the types not found so far, which it may now declare, as the files
+     * missing so far may now exist. Returns the names of the types that were found in the file.
+     */
+    Set<String> invalidate(Path file) {
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        parsedFiles.remove(absoluteFile);
+        parsedFiles.values().removeIf(compilationUnit -> !compilationUnit.isPresent());
+        modifiedTimes.remove(absoluteFile);
+        Set<String> declared = declaringFiles.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(absoluteFile)).map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        declaringFiles.keySet().removeAll(declared);
+        foundTypes.entrySet().removeIf(entry -> declared.contains(entry.getKey()) || !entry.getValue().isSolved());
+        return declared;
+    }
+
+    //as the javaparser solver: for each prefix of the name, a type of the file named after it or of its package
+    private SymbolReference<ResolvedReferenceTypeDeclaration> findType(String name) {
+        String[] nameElements = name.split("\\.");
+        for (int i = nameElements.length; i > 0; i--) {
+            Path file = rootPath.resolve(String.join(File.separator, Arrays.copyOfRange(nameElements, 0, i))
+                    + JAVA_SUFFIX);
+            String typeName = String.join(".", Arrays.copyOfRange(nameElements, i - 1, nameElements.length));
+            Optional<Path> declaringFile = findDeclaringFile(file, typeName);
+            if (declaringFile.isPresent()) {
+                declaringFiles.put(name, declaringFile.get());
+                TypeDeclaration<?> type = findType(declaringFile.get(), typeName).get();
+                return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(type));
+            }
+        }
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    //the file named after the type first, then any other file of its package
+    private Optional<Path> findDeclaringFile(Path file, String typeName) {
+        if (findType(file, typeName).isPresent()) {
+            return Optional.of(file);
+        }
+        return listJavaFiles(file.getParent()).stream().filter(sibling -> findType(sibling, typeName).isPresent())
+                .findFirst();
+    }
+
+    private Optional<TypeDeclaration<?>> findType(Path file, String typeName) {
+        return parse(file).flatMap(compilationUnit -> Navigator.findType(compilationUnit, typeName));
+    }
+
+    private Optional<CompilationUnit> parse(Path file) {
+        Optional<CompilationUnit> compilationUnit = parsedFiles.get(file);
+        if (compilationUnit == null) {
+            if (Files.isRegularFile(file)) {
+                modifiedTimes.put(file, lastModified(file));
+                loadedFiles++;
+            }
+            compilationUnit = parseFile(file);
+            parsedFiles.put(file, compilationUnit);
+        }
+        return compilationUnit;
+    }
+
+    //a file that does not parse declares no type, as for the javaparser solver
+    private static Optional<CompilationUnit> parseFile(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JavaParser.parse(file).setStorage(file));
+        } catch (ParseProblemException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //a deleted file was last modified at the epoch, as if it changed
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static List<Path> listJavaFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Files.isRegularFile(file)
+                    && file.getFileName().toString().endsWith(JAVA_SUFFIX)).sorted().collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //access order: the least recently used entry is the eldest
+    private static <K, V> Map<K, V> newCache(int maxSize) {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
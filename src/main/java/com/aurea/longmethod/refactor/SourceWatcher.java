@@ -0,0 +1,128 @@
+package com.aurea.longmethod.refactor;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watch mode: Java files of the source roots are analysed again as they change, with the suggestions for their long
+ * methods printed to the standard output the way the server answers them. Only the cached types of the changed files
+ * are forgotten, the solvers stay warm for the rest.
+ */
+@Component
+@Slf4j
+public class SourceWatcher {
+
+    private static final String JAVA_SUFFIX = ".java";
+    private static final String ANALYSE = "analyse ";
+    private static final long QUIET_MILLIS = 200;
+
+    private final boolean watch;
+    private final ChangeScope changeScope;
+    private final SymbolSolverFactory symbolSolverFactory;
+    private final RefactoringServer refactoringServer;
+
+    public SourceWatcher(@Value("${watch:false}") boolean watch, ChangeScope changeScope,
+            SymbolSolverFactory symbolSolverFactory, RefactoringServer refactoringServer) {
+        this.watch = watch;
+        this.changeScope = changeScope;
+        this.symbolSolverFactory = symbolSolverFactory;
+        this.refactoringServer = refactoringServer;
+    }
+
+    boolean isEnabled() {
+        return watch;
+    }
+
+    void watch() throws IOException {
+        List<Path> rootPaths = changeScope.getRootPaths();
+        Writer suggestions = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try (SymbolSolverPool symbolSolvers = symbolSolverFactory.newPool(rootPaths);
+                WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> directories = new HashMap<>();
+            for (Path rootPath : rootPaths) {
+                register(rootPath, watchService, directories);
+            }
+            log.info("Watching {}", rootPaths);
+            while (!directories.isEmpty()) {
+                Set<Path> changedFiles = awaitChanges(watchService, directories);
+                symbolSolvers.invalidate(changedFiles);
+                for (Path changedFile : changedFiles) {
+                    if (Files.isRegularFile(changedFile)) {
+                        refactoringServer.handle(ANALYSE + changedFile, suggestions, symbolSolvers);
+                    }
+                }
+                suggestions.flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.info("Stopped watching", ex);
+        }
+    }
+
+    //a save comes as a burst of events, they are gathered until the files are quiet
+    private static Set<Path> awaitChanges(WatchService watchService, Map<WatchKey, Path> directories)
+            throws IOException, InterruptedException {
+        Set<Path> changedFiles = new LinkedHashSet<>();
+        for (WatchKey key = watchService.take(); key != null;
+                key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) {
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    log.warn("Missed changes in {}", directory);
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    //files may be created in a new directory before it is watched
+                    changedFiles.addAll(register(path, watchService, directories));
+                } else if (path.toString().endsWith(JAVA_SUFFIX)) {
+                    changedFiles.add(path);
+                }
+            }
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+        }
+        return changedFiles;
+    }
+
+    //watches the directory and the ones below it, returns the Java files found in them
+    private static List<Path> register(Path directory, WatchService watchService, Map<WatchKey, Path> directories)
+            throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> found = paths.collect(Collectors.toList());
+            for (Path path : found) {
+                if (Files.isDirectory(path)) {
+                    directories.put(path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+                }
+            }
+            return found.stream().filter(path -> Files.isRegularFile(path) && path.toString().endsWith(JAVA_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+    }
+}
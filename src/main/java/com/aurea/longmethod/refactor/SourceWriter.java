@@ -0,0 +1,209 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes refactored files through a temporary file moved over the original, so that a crash cannot leave a source
+ * half written. The temporary file takes the permissions, owner and ACL of the original first. With
+ * {@code preserveFormatting}, only the changed and extracted methods are printed: the rest of the file keeps its
+ * original text, unless the patched file would not parse to the refactored one.
+ */
+@Component
+@Slf4j
+public class SourceWriter {
+
+    private static final String LINE_SEPARATOR = "\r?\n";
+    private static final String INDENT = "    ";
+
+    private final boolean preserveFormatting;
+
+    public SourceWriter(@Value("${preserveFormatting:false}") boolean preserveFormatting) {
+        this.preserveFormatting = preserveFormatting;
+    }
+
+    String format(String original, String refactored) {
+        if (!preserveFormatting) {
+            return refactored;
+        }
+        CompilationUnit refactoredUnit = JavaParser.parse(refactored);
+        Optional<String> patched;
+        try {
+            patched = patch(original, refactoredUnit);
+        } catch (IllegalStateException ex) {
+            patched = Optional.empty();
+        }
+        if (!patched.isPresent() || !parsesTo(patched.get(), refactoredUnit)) {
+            log.debug("Could not preserve the formatting, the whole file is printed");
+            return refactored;
+        }
+        return patched.get();
+    }
+
+    //a method sharing its lines with the rest of the type can be patched into text that does not parse at all
+    private static boolean parsesTo(String patched, CompilationUnit refactoredUnit) {
+        try {
+            return JavaParser.parse(patched).toString().equals(refactoredUnit.toString());
+        } catch (ParseProblemException ex) {
+            return false;
+        }
+    }
+
+    void write(Path path, byte[] content) throws IOException {
+        Path tempFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), null);
+        try {
+            Files.write(tempFile, content);
+            if (Files.exists(path)) {
+                copyAttributes(path, tempFile);
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    //temporary files are created readable by their owner only
+    private static void copyAttributes(Path from, Path to) throws IOException {
+        PosixFileAttributeView posix = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+        if (posix != null) {
+            PosixFileAttributes attributes = Files.readAttributes(from, PosixFileAttributes.class);
+            posix.setPermissions(attributes.permissions());
+            try {
+                posix.setOwner(attributes.owner());
+                posix.setGroup(attributes.group());
+            } catch (IOException ex) { //only a privileged user can give a file away
+                log.debug("Could not keep the owner of {}", from, ex);
+            }
+        }
+        AclFileAttributeView acl = Files.getFileAttributeView(to, AclFileAttributeView.class);
+        if (acl != null) {
+            acl.setAcl(Files.getFileAttributeView(from, AclFileAttributeView.class).getAcl());
+        }
+    }
+
+    //changed methods are replaced line for line, extracted ones are added at the end of their type
+    private static Optional<String> patch(String original, CompilationUnit refactoredUnit) {
+        Map<String, MethodDeclaration> originalMethods = getMethods(JavaParser.parse(original));
+        Map<String, MethodDeclaration> refactoredMethods = getMethods(refactoredUnit);
+        if (!refactoredMethods.keySet().containsAll(originalMethods.keySet())) {
+            return Optional.empty();
+        }
+        List<String> lines = new ArrayList<>(Arrays.asList(original.split(LINE_SEPARATOR, -1)));
+        List<Edit> edits = new ArrayList<>();
+        originalMethods.forEach((key, method) -> {
+            MethodDeclaration refactored = refactoredMethods.get(key);
+            if (!refactored.toString().equals(method.toString())) {
+                int begin = line(method, true);
+                edits.add(new Edit(begin, line(method, false) + 1, print(refactored, indentation(lines.get(begin)))));
+            }
+        });
+        Map<TypeDeclaration<?>, List<String>> extracted = new LinkedHashMap<>();
+        refactoredMethods.forEach((key, method) -> {
+            if (!originalMethods.containsKey(key)) {
+                TypeDeclaration<?> type = getOriginalType(originalMethods, key);
+                String indentation = indentation(lines.get(line(type, true))) + INDENT;
+                List<String> printed = extracted.computeIfAbsent(type, k -> new ArrayList<>());
+                printed.add("");
+                printed.addAll(print(method, indentation));
+            }
+        });
+        extracted.forEach((type, printed) -> edits.add(new Edit(line(type, false), line(type, false), printed)));
+        edits.sort(Comparator.comparing((Edit edit) -> edit.begin).reversed());
+        for (Edit edit : edits) {
+            lines.subList(edit.begin, edit.end).clear();
+            lines.addAll(edit.begin, edit.lines);
+        }
+        return Optional.of(String.join(original.contains("\r\n") ? "\r\n" : "\n", lines));
+    }
+
+    //types of the extracted methods are found through any original method of theirs
+    private static TypeDeclaration<?> getOriginalType(Map<String, MethodDeclaration> originalMethods,
+            String key) {
+        String typeKey = key.substring(0, key.indexOf('#') + 1);
+        return originalMethods.entrySet().stream().filter(entry -> entry.getKey().startsWith(typeKey)).findFirst()
+                .flatMap(entry -> enclosingType(entry.getValue()))
+                .orElseThrow(() -> new IllegalStateException("No original type for " + key));
+    }
+
+    private static Map<String, MethodDeclaration> getMethods(CompilationUnit compilationUnit) {
+        Map<String, MethodDeclaration> methods = new LinkedHashMap<>();
+        for (MethodDeclaration method : compilationUnit.findAll(MethodDeclaration.class)) {
+            methods.put(typeKey(method) + '#' + method.getSignature().asString(), method);
+        }
+        return methods;
+    }
+
+    private static String typeKey(Node node) {
+        List<String> names = new ArrayList<>();
+        Optional<TypeDeclaration<?>> type = enclosingType(node);
+        while (type.isPresent()) {
+            names.add(type.get().getNameAsString());
+            type = enclosingType(type.get());
+        }
+        Collections.reverse(names);
+        return String.join(".", names);
+    }
+
+    private static Optional<TypeDeclaration<?>> enclosingType(Node node) {
+        return node.getAncestorOfType(TypeDeclaration.class).map(type -> (TypeDeclaration<?>) type);
+    }
+
+    //the comment of a method is kept from the original text, it lies outside of the method lines
+    private static List<String> print(MethodDeclaration method, String indentation) {
+        MethodDeclaration printed = method.clone();
+        printed.removeComment();
+        List<String> lines = new ArrayList<>();
+        for (String line : printed.toString().split(LINE_SEPARATOR)) {
+            lines.add(line.isEmpty() ? line : indentation + line);
+        }
+        return lines;
+    }
+
+    private static String indentation(String line) {
+        int end = 0;
+        while (end < line.length() && Character.isWhitespace(line.charAt(end))) {
+            end++;
+        }
+        return line.substring(0, end);
+    }
+
+    private static int line(Node node, boolean begin) {
+        return (begin ? node.getBegin() : node.getEnd())
+                .orElseThrow(() -> new IllegalStateException("No position for " + node)).line - 1;
+    }
+
+    private static final class Edit {
+
+        private final int begin;
+        private final int end;
+        private final List<String> lines;
+
+        private Edit(int begin, int end, List<String> lines) {
+            this.begin = begin;
+            this.end = end;
+            this.lines = lines;
+        }
+    }
+}
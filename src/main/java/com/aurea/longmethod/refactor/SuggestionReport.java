@@ -0,0 +1,158 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.CompilationUnit.Storage;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.stmt.Statement;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Dry run: the extractions planned for the long methods are written to {@code reportFile}, one JSON object per line,
+ * as methods are analysed, along with the methods skipped over their analysis budget. Sources are neither rewritten
+ * nor printed. The server reports the same way to its clients.
+ */
+@Component
+@Slf4j
+public class SuggestionReport {
+
+    private final String reportFile;
+    private volatile Writer writer;
+    private boolean owned;
+
+    public SuggestionReport(@Value("${reportFile:}") String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Whether started, the run is then a dry run.
+     */
+    boolean isEnabled() {
+        return writer != null;
+    }
+
+    void start() throws IOException {
+        if (!StringUtils.isEmpty(reportFile)) {
+            writer = Files.newBufferedWriter(Paths.get(reportFile), StandardCharsets.UTF_8);
+            owned = true;
+            log.info("Dry run, suggestions are reported to {}", reportFile);
+        }
+    }
+
+    /**
+     * Reports to a writer of the caller, flushed but left open when finished.
+     */
+    void start(Writer target) {
+        writer = target;
+        owned = false;
+    }
+
+    void finish() throws IOException {
+        if (writer != null) {
+            if (owned) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Extractions planned for a method, {@code topLevelOnly} when they were searched among the ranges of its top
+     * level statements only, its full search being over budget. Workers report concurrently, the lines of a method
+     * are written at once.
+     */
+    synchronized void add(TypeDeclaration<?> type, MethodDeclaration method, List<ScoredCandidate> plan,
+            boolean topLevelOnly) {
+        for (ScoredCandidate extraction : plan) {
+            writeLine(toJson(type, method, extraction, topLevelOnly));
+        }
+    }
+
+    synchronized void skip(TypeDeclaration<?> type, MethodDeclaration method) {
+        writeLine(toJson(type, method) + ",\"skipped\":\"overBudget\"}");
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //fields of the method, the object is left open
+    private static String toJson(TypeDeclaration<?> type, MethodDeclaration method) {
+        return "{\"file\":" + quote(method.getAncestorOfType(CompilationUnit.class)
+                .flatMap(CompilationUnit::getStorage).map(Storage::getPath).map(Object::toString).orElse(""))
+                + ",\"type\":" + quote(type.getNameAsString())
+                + ",\"method\":" + quote(method.getSignature().asString())
+                + ",\"begin\":" + line(method, true)
+                + ",\"end\":" + line(method, false);
+    }
+
+    private static String toJson(TypeDeclaration<?> type, MethodDeclaration method,
+            ScoredCandidate extraction, boolean topLevelOnly) {
+        RefactoringCandidate candidate = extraction.getCandidate();
+        List<Statement> statements = ApplicableCandidateProvider.getStatementsToReplace(candidate, method);
+        String parameters = ApplicableCandidateProvider.computeParameters(candidate).stream()
+                .map(SuggestionReport::toJson).collect(Collectors.joining(",", "[", "]"));
+        String returnType = ApplicableCandidateProvider.computeReturnType(candidate, method).asString();
+        return toJson(type, method)
+                + ",\"search\":" + quote(topLevelOnly ? "topLevelOnly" : "full")
+                + ",\"extractedBegin\":" + line(statements.get(0), true)
+                + ",\"extractedEnd\":" + line(statements.get(statements.size() - 1), false)
+                + ",\"remainingLength\":" + extraction.getRemainingLength()
+                + ",\"score\":" + number(extraction.getScore())
+                + ",\"lengthScore\":" + number(extraction.getLengthScore())
+                + ",\"nestDepthScore\":" + extraction.getNestDepthScore()
+                + ",\"nestAreaScore\":" + number(extraction.getNestAreaScore())
+                + ",\"paramsScore\":" + extraction.getParamsScore()
+                + ",\"parameters\":" + parameters
+                + ",\"returnType\":" + quote(returnType)
+                + "}";
+    }
+
+    private static String toJson(Parameter parameter) {
+        return "{\"name\":" + quote(parameter.getNameAsString()) + ",\"type\":" + quote(parameter.getType().asString())
+                + "}";
+    }
+
+    private static int line(Node node, boolean begin) {
+        return (begin ? node.getBegin() : node.getEnd()).map(position -> position.line).orElse(0);
+    }
+
+    //JSON has no literal for infinite or undefined scores
+    private static String number(float value) {
+        return Float.isFinite(value) ? Float.toString(value) : "null";
+    }
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                quoted.append('\\').append(character);
+            } else if (character < ' ') {
+                quoted.append(String.format("\\u%04x", (int) character));
+            } else {
+                quoted.append(character);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
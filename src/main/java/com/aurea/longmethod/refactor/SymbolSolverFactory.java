@@ -0,0 +1,84 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Builds the symbol solvers of a run: every source root, jar and source directory of the {@code classpath} is
+ * resolved against, whichever root a file belongs to.
+ */
+@Component
+@ToString(of = "classpath")
+public class SymbolSolverFactory {
+
+    private static final String JAVA_SUFFIX = ".java";
+
+    private final int parallelism;
+    private final String classpath;
+    private final int typeCacheSize;
+    private final boolean preIndex;
+
+    public SymbolSolverFactory(@Value("${parallelism:1}") int parallelism, @Value("${classpath:}") String classpath,
+            @Value("${typeCacheSize:5000}") int typeCacheSize, @Value("${preIndex:false}") boolean preIndex) {
+        this.parallelism = Math.max(1, parallelism);
+        this.classpath = classpath;
+        this.typeCacheSize = typeCacheSize;
+        this.preIndex = preIndex;
+    }
+
+    /**
+     * One solver per worker, {@code parallelism} of them.
+     */
+    SymbolSolverPool newPool(List<Path> rootPaths) throws IOException {
+        List<CachingTypeSolver> typeSolvers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            List<SourceRootTypeSolver> sourceRoots = rootPaths.stream()
+                    .map(rootPath -> new SourceRootTypeSolver(rootPath, typeCacheSize)).collect(Collectors.toList());
+            typeSolvers.add(new CachingTypeSolver(newTypeSolver(sourceRoots), sourceRoots, typeCacheSize));
+        }
+        return new SymbolSolverPool(typeSolvers, preIndex ? findTypeNames(rootPaths) : Collections.emptyList());
+    }
+
+    private TypeSolver newTypeSolver(List<SourceRootTypeSolver> sourceRoots) throws IOException {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        sourceRoots.forEach(typeSolver::add);
+        for (String entry : StringUtils.tokenizeToStringArray(classpath, "," + File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            //source directories are bounded as the source roots are, the javaparser solver keeps every file parsed
+            typeSolver.add(Files.isDirectory(path) ? new SourceRootTypeSolver(path, typeCacheSize)
+                    : new JarTypeSolver(path.toString()));
+        }
+        return typeSolver;
+    }
+
+    //top level types are named after their files, as public types have to be
+    private static List<String> findTypeNames(List<Path> rootPaths) throws IOException {
+        List<String> typeNames = new ArrayList<>();
+        for (Path rootPath : rootPaths) {
+            try (Stream<Path> files = Files.walk(rootPath)) {
+                typeNames.addAll(files.filter(path -> Files.isRegularFile(path)
+                        && path.toFile().getName().endsWith(JAVA_SUFFIX))
+                        .map(path -> rootPath.relativize(path).toString())
+                        .map(name -> name.substring(0, name.length() - JAVA_SUFFIX.length())
+                                .replace(File.separatorChar, '.'))
+                        .collect(Collectors.toList()));
+            }
+        }
+        return typeNames;
+    }
+}
@@ -0,0 +1,140 @@
+package com.aurea.longmethod.refactor;
+
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out one symbol solver per worker: javaparser solvers and facades are not safe to share between threads.
+ */
+@Slf4j
+class SymbolSolverPool implements AutoCloseable {
+
+    private final BlockingQueue<JavaSymbolSolver> symbolSolvers;
+    private final List<CachingTypeSolver> typeSolvers;
+    private final ExecutorService preIndexer;
+
+    /**
+     * Solvers given types to pre-index join the pool once these are solved, in the background and in parallel: each
+     * solver joins as soon as its own pass is done.
+     */
+    SymbolSolverPool(List<CachingTypeSolver> typeSolvers, List<String> preIndexedTypes) {
+        this.typeSolvers = typeSolvers;
+        preIndexer = Executors.newFixedThreadPool(Math.max(1, typeSolvers.size()));
+        symbolSolvers = new ArrayBlockingQueue<>(typeSolvers.size());
+        for (CachingTypeSolver typeSolver : typeSolvers) {
+            //register the facade upfront, JavaParserFacade instances map is not thread safe
+            JavaParserFacade.get(typeSolver);
+            JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
+            if (preIndexedTypes.isEmpty()) {
+                symbolSolvers.add(symbolSolver);
+            } else {
+                preIndexer.submit(() -> preIndex(typeSolver, symbolSolver, preIndexedTypes));
+            }
+        }
+    }
+
+    int size() {
+        return typeSolvers.size();
+    }
+
+    JavaSymbolSolver borrow() throws InterruptedException {
+        return symbolSolvers.take();
+    }
+
+    void release(JavaSymbolSolver symbolSolver) {
+        symbolSolvers.add(symbolSolver);
+    }
+
+    /**
+     * Forgets the types of changed files of the source roots, once every solver is back in the pool. Returns whether
+     * any of the files was in the source roots.
+     */
+    boolean invalidate(Collection<Path> files) throws InterruptedException {
+        return invalidate(typeSolver -> {
+            boolean invalidated = false;
+            for (Path file : files) {
+                invalidated |= typeSolver.invalidate(file);
+            }
+            return invalidated;
+        });
+    }
+
+    /**
+     * Forgets the types of the files of the source roots changed on disk since they were parsed, whoever changed
+     * them, once every solver is back in the pool. Returns whether any file had changed.
+     */
+    boolean invalidateModified() throws InterruptedException {
+        return invalidate(CachingTypeSolver::invalidateModified);
+    }
+
+    long getCachedTypes() {
+        return typeSolvers.stream().mapToLong(CachingTypeSolver::size).sum();
+    }
+
+    long getHits() {
+        return typeSolvers.stream().mapToLong(CachingTypeSolver::getHits).sum();
+    }
+
+    long getMisses() {
+        return typeSolvers.stream().mapToLong(CachingTypeSolver::getMisses).sum();
+    }
+
+    /**
+     * Source files parsed by the solvers to load the types they declare.
+     */
+    long getLoadedFiles() {
+        return typeSolvers.stream().mapToLong(CachingTypeSolver::getLoadedFiles).sum();
+    }
+
+    long getEvictions() {
+        return typeSolvers.stream().mapToLong(CachingTypeSolver::getEvictions).sum();
+    }
+
+    @Override
+    public void close() {
+        preIndexer.shutdownNow();
+    }
+
+    private boolean invalidate(Predicate<CachingTypeSolver> invalidation) throws InterruptedException {
+        List<JavaSymbolSolver> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < size(); i++) {
+                borrowed.add(borrow());
+            }
+            boolean invalidated = false;
+            for (CachingTypeSolver typeSolver : typeSolvers) {
+                invalidated |= invalidation.test(typeSolver);
+            }
+            return invalidated;
+        } finally {
+            borrowed.forEach(this::release);
+        }
+    }
+
+    private int preIndex(CachingTypeSolver typeSolver, JavaSymbolSolver symbolSolver, List<String> typeNames) {
+        int solved = 0;
+        try {
+            for (String typeName : typeNames) {
+                try {
+                    solved += typeSolver.tryToSolveType(typeName).isSolved() ? 1 : 0;
+                } catch (RuntimeException ex) { //a type that fails now fails again when a file needs it
+                    log.debug("Failed to pre-index {}", typeName, ex);
+                }
+            }
+            log.debug("Pre-indexed {} of {} types", solved, typeNames.size());
+        } finally {
+            symbolSolvers.add(symbolSolver);
+        }
+        return solved;
+    }
+}
@@ -1,18 +1,9 @@
 package com.aurea.longmethod.refactor.utils;
 
-import static com.github.javaparser.ast.expr.UnaryExpr.Operator.POSTFIX_DECREMENT;
-import static com.github.javaparser.ast.expr.UnaryExpr.Operator.POSTFIX_INCREMENT;
-import static com.github.javaparser.ast.expr.UnaryExpr.Operator.PREFIX_DECREMENT;
-import static com.github.javaparser.ast.expr.UnaryExpr.Operator.PREFIX_INCREMENT;
-
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.ast.expr.ArrayAccessExpr;
-import com.github.javaparser.ast.expr.AssignExpr;
-import com.github.javaparser.ast.expr.NameExpr;
-import com.github.javaparser.ast.expr.UnaryExpr;
 import com.github.javaparser.ast.expr.VariableDeclarationExpr;
 import com.github.javaparser.ast.stmt.BreakStmt;
 import com.github.javaparser.ast.stmt.ContinueStmt;
@@ -32,37 +23,17 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.collections4.ListUtils;
 
 @UtilityClass
 public class AstUtils {
 
-    private static final EnumSet<UnaryExpr.Operator> UNARY_ASSIGN_OPERATORS = EnumSet.of(PREFIX_INCREMENT,
-            PREFIX_DECREMENT, POSTFIX_INCREMENT, POSTFIX_DECREMENT);
-
-    public static boolean isUsed(ResolvedValueDeclaration declaration, List<? extends Node> nodes) {
-        return nodes.stream().anyMatch(child -> isUsed(declaration, child));
-    }
-
-    private static boolean isUsed(ResolvedValueDeclaration declaration, Node node) {
-        if (node instanceof NameExpr) {
-            NameExpr nameExpr = (NameExpr) node;
-            Optional<ResolvedValueDeclaration> maybeNameDeclaration = ResolveUtils.resolveNameExpression(nameExpr);
-            return maybeNameDeclaration.map(nameDeclaration -> isSameValue(declaration, nameDeclaration))
-                    .orElse(declaration.getName().equals(nameExpr.getNameAsString()));
-        }
-        return isUsed(declaration, node.getChildNodes());
-    }
-
     public static boolean isSameValue(ResolvedValueDeclaration declaration, ResolvedValueDeclaration other) {
         return getSymbolDeclarationWrappedNode(declaration) == getSymbolDeclarationWrappedNode(other);
     }
 
-    private static Node getSymbolDeclarationWrappedNode(ResolvedValueDeclaration declaration) {
+    static Node getSymbolDeclarationWrappedNode(ResolvedValueDeclaration declaration) {
         Node node = ResolveUtils.getWrappedNode(declaration);
         if (node instanceof VariableDeclarationExpr) {
             return ((VariableDeclarationExpr) node).getVariable(0);
@@ -130,45 +101,11 @@ public class AstUtils {
                 .anyMatch(statement -> statement.findFirst(ReturnStmt.class).isPresent());
     }
 
-    public static List<Statement> getChildNextStatements(List<Statement> nextStatements, List<Statement> children,
-            int idx) {
-        List<Statement> next = children.size() <= idx + 1 ? Collections.emptyList() :
-                children.subList(idx + 1, children.size());
-        return ListUtils.union(next, nextStatements);
-    }
-
     public static List<Statement> getStatementChildren(Statement statement) {
         return statement.getChildNodes().stream().filter(node -> node instanceof Statement)
                 .map(Statement.class::cast).collect(Collectors.toList());
     }
 
-    public static List<ResolvedValueDeclaration> getAssignedVariables(List<Statement> currentStatements) {
-        return getNodesOfType(currentStatements, AssignExpr.class).stream()
-                .filter(assignExpr -> !(assignExpr.getTarget() instanceof ArrayAccessExpr))
-                .map(ResolveUtils::resolveTarget).collect(Collectors.toList());
-    }
-
-    public static List<ResolvedValueDeclaration> getUnaryAssignedVariables(List<Statement> currentStatements) {
-        return getNodesOfType(currentStatements, UnaryExpr.class).stream()
-                .filter(unaryExpr -> UNARY_ASSIGN_OPERATORS.contains(unaryExpr.getOperator()))
-                .filter(unaryExpr -> !(unaryExpr.getExpression() instanceof ArrayAccessExpr))
-                .map(ResolveUtils::resolveTarget).collect(Collectors.toList());
-    }
-
-    public static List<ResolvedValueDeclaration> getDeclaredVariables(List<Statement> currentStatements) {
-        return getNodesOfType(currentStatements, VariableDeclarator.class).stream()
-                .map(VariableDeclarator::resolve).collect(Collectors.toList());
-    }
-
-    public static Set<ResolvedValueDeclaration> getParameters(List<? extends Node> nodes) {
-        return nodes.stream().flatMap(node -> node.findAll(NameExpr.class).stream())
-                .map(ResolveUtils::resolveNameExpression)
-                .flatMap(valueDeclaration -> valueDeclaration.map(Stream::of).orElse(Stream.empty()))
-                .filter(AstUtils::isNotAField)
-                .filter(declaration -> !ResolveUtils.isDeclaredIn(declaration, nodes))
-                .collect(Collectors.toSet());
-    }
-
     public static boolean isNotAField(ResolvedValueDeclaration declaration) {
         return !(declaration instanceof JavaParserFieldDeclaration
                 || declaration instanceof JavaParserEnumConstantDeclaration);
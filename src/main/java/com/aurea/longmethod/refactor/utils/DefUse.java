@@ -0,0 +1,93 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Variables read, assigned and declared by a group of statements. Each variable is keyed by the node declaring it,
+ * and keeps the first declaration met in document order.
+ */
+public final class DefUse {
+
+    final Declarations reads = new Declarations();
+    final Set<String> unresolvedReads = new HashSet<>();
+    final Declarations assigned = new Declarations();
+    final Declarations unaryAssigned = new Declarations();
+    final Declarations declared = new Declarations();
+    private RuntimeException failure;
+
+    public static DefUse empty() {
+        return new DefUse();
+    }
+
+    public DefUse copy() {
+        return new DefUse().addAll(this);
+    }
+
+    public DefUse addAll(DefUse other) {
+        reads.addAll(other.reads);
+        unresolvedReads.addAll(other.unresolvedReads);
+        assigned.addAll(other.assigned);
+        unaryAssigned.addAll(other.unaryAssigned);
+        declared.addAll(other.declared);
+        if (failure == null) {
+            failure = other.failure;
+        }
+        return this;
+    }
+
+    public boolean isUsed(ResolvedValueDeclaration declaration) {
+        return reads.contains(AstUtils.getSymbolDeclarationWrappedNode(declaration))
+                || unresolvedReads.contains(declaration.getName());
+    }
+
+    public List<ResolvedValueDeclaration> getWrittenValues() {
+        List<ResolvedValueDeclaration> written = new ArrayList<>(assigned.values);
+        written.addAll(unaryAssigned.values);
+        written.addAll(declared.values);
+        return written;
+    }
+
+    //resolution errors are only reported for ranges actually considered for extraction, as before indexing
+    public void rethrowFailure() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    void fail(RuntimeException ex) {
+        if (failure == null) {
+            failure = ex;
+        }
+    }
+
+    static final class Declarations {
+
+        final List<Node> keys = new ArrayList<>();
+        final List<ResolvedValueDeclaration> values = new ArrayList<>();
+        private final Map<Node, ResolvedValueDeclaration> byKey = new IdentityHashMap<>();
+
+        void add(Node key, ResolvedValueDeclaration declaration) {
+            if (byKey.putIfAbsent(key, declaration) == null) {
+                keys.add(key);
+                values.add(declaration);
+            }
+        }
+
+        void addAll(Declarations other) {
+            for (int i = 0; i < other.keys.size(); i++) {
+                add(other.keys.get(i), other.values.get(i));
+            }
+        }
+
+        boolean contains(Node key) {
+            return byKey.containsKey(key);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.aurea.longmethod.refactor.utils;
+
+import static com.github.javaparser.ast.expr.UnaryExpr.Operator.POSTFIX_DECREMENT;
+import static com.github.javaparser.ast.expr.UnaryExpr.Operator.POSTFIX_INCREMENT;
+import static com.github.javaparser.ast.expr.UnaryExpr.Operator.PREFIX_DECREMENT;
+import static com.github.javaparser.ast.expr.UnaryExpr.Operator.PREFIX_INCREMENT;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Def-use facts of every statement of a method body, collected in a single walk over the body. Built, it may be read
+ * by parallel searches of the ranges of the body.
+ */
+public final class DefUseIndex {
+
+    private static final EnumSet<UnaryExpr.Operator> UNARY_ASSIGN_OPERATORS = EnumSet.of(PREFIX_INCREMENT,
+            PREFIX_DECREMENT, POSTFIX_INCREMENT, POSTFIX_DECREMENT);
+
+    private final Map<Statement, DefUse> facts = new IdentityHashMap<>();
+    private final Map<Statement, Map<Node, Integer>> declaringChildren = synchronizedMap();
+    private final Map<Statement, Map<Node, Boolean>> declaredOutsideLoop = synchronizedMap();
+
+    private DefUseIndex() {
+    }
+
+    public static DefUseIndex build(Statement body) {
+        DefUseIndex index = new DefUseIndex();
+        index.summarize(body);
+        return index;
+    }
+
+    public DefUse get(Statement statement) {
+        return facts.getOrDefault(statement, DefUse.empty());
+    }
+
+    /**
+     * Uses of the statements following each child, the last one being followed by {@code nextUses} only.
+     */
+    public List<DefUse> getFollowingUses(List<Statement> children, DefUse nextUses) {
+        List<DefUse> following = new ArrayList<>(Collections.nCopies(children.size(), nextUses));
+        for (int i = children.size() - 2; i >= 0; i--) {
+            following.set(i, following.get(i + 1).copy().addAll(get(children.get(i + 1))));
+        }
+        return following;
+    }
+
+    public Set<ResolvedValueDeclaration> getParameters(Statement statement, List<Statement> children, int begin,
+            int end, DefUse currentUses) {
+        Set<ResolvedValueDeclaration> parameters = new HashSet<>();
+        for (int i = 0; i < currentUses.reads.keys.size(); i++) {
+            int declaringChild = getDeclaringChild(statement, children, currentUses.reads.keys.get(i));
+            if (declaringChild < begin || declaringChild > end) {
+                parameters.add(currentUses.reads.values.get(i));
+            }
+        }
+        return parameters;
+    }
+
+    public boolean isDeclaredOutsideLoop(ResolvedValueDeclaration declaration, Statement statement) {
+        return declaredOutsideLoop.computeIfAbsent(statement, key -> synchronizedMap())
+                .computeIfAbsent(AstUtils.getSymbolDeclarationWrappedNode(declaration),
+                        key -> ResolveUtils.isDeclaredOutsideLoop(declaration, statement));
+    }
+
+    private int getDeclaringChild(Statement statement, List<Statement> children, Node declaration) {
+        return declaringChildren.computeIfAbsent(statement, key -> synchronizedMap())
+                .computeIfAbsent(declaration, key -> {
+                    Node current = declaration;
+                    Optional<Node> parent = current.getParentNode();
+                    while (parent.isPresent() && parent.get() != statement) {
+                        current = parent.get();
+                        parent = current.getParentNode();
+                    }
+                    return parent.isPresent() ? indexOf(children, current) : -1;
+                });
+    }
+
+    private static <K, V> Map<K, V> synchronizedMap() {
+        return Collections.synchronizedMap(new IdentityHashMap<>());
+    }
+
+    private static int indexOf(List<Statement> children, Node child) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private DefUse summarize(Statement statement) {
+        DefUse defUse = DefUse.empty();
+        for (Node child : statement.getChildNodes()) {
+            if (child instanceof Statement) {
+                defUse.addAll(summarize((Statement) child));
+            } else {
+                scan(child, defUse);
+            }
+        }
+        facts.put(statement, defUse);
+        return defUse;
+    }
+
+    private static void scan(Node node, DefUse defUse) {
+        try {
+            record(node, defUse);
+        } catch (RuntimeException ex) { //NOPMD any resolution error is kept and reported later
+            defUse.fail(ex);
+        }
+        for (Node child : node.getChildNodes()) {
+            scan(child, defUse);
+        }
+    }
+
+    private static void record(Node node, DefUse defUse) {
+        if (node instanceof NameExpr) {
+            NameExpr nameExpr = (NameExpr) node;
+            Optional<ResolvedValueDeclaration> declaration = ResolveUtils.resolveNameExpression(nameExpr);
+            if (declaration.isPresent()) {
+                add(defUse.reads, declaration.get());
+            } else {
+                defUse.unresolvedReads.add(nameExpr.getNameAsString());
+            }
+        } else if (node instanceof AssignExpr && !(((AssignExpr) node).getTarget() instanceof ArrayAccessExpr)) {
+            add(defUse.assigned, ResolveUtils.resolveTarget((AssignExpr) node));
+        } else if (node instanceof UnaryExpr && isUnaryAssignment((UnaryExpr) node)) {
+            add(defUse.unaryAssigned, ResolveUtils.resolveTarget((UnaryExpr) node));
+        } else if (node instanceof VariableDeclarator) {
+            add(defUse.declared, ResolveUtils.resolveDeclarator((VariableDeclarator) node));
+        }
+    }
+
+    private static boolean isUnaryAssignment(UnaryExpr unaryExpr) {
+        return UNARY_ASSIGN_OPERATORS.contains(unaryExpr.getOperator())
+                && !(unaryExpr.getExpression() instanceof ArrayAccessExpr);
+    }
+
+    private static void add(DefUse.Declarations declarations, ResolvedValueDeclaration declaration) {
+        if (AstUtils.isNotAField(declaration)) {
+            declarations.add(AstUtils.getSymbolDeclarationWrappedNode(declaration), declaration);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aurea.longmethod.refactor.utils;
+
+/**
+ * Scan of Java source for the lines spanned by the members of its types, from their first token to their closing
+ * brace, cheap next to a parse. Comments, string and character literals and text blocks are skipped, their braces do
+ * not count. Methods, nested types included, are never longer than the member they are found in, so a file whose
+ * longest member is short has no long method.
+ */
+public final class LexicalScan {
+
+    private static final String LINE_COMMENT = "//";
+    private static final String BLOCK_COMMENT = "/*";
+    private static final String BLOCK_COMMENT_END = "*/";
+    private static final String TEXT_BLOCK = "\"\"\"";
+
+    private final String source;
+    private int position;
+    private int line = 1;
+    private int depth;
+    //parentheses of the member being read, braces in them are not its body
+    private int parentheses;
+    //line of the first token of the member being read, 0 between members
+    private int memberStart;
+    private int longest;
+
+    private LexicalScan(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Lines spanned by the longest member of the types of the source.
+     */
+    public static int longestMember(String source) {
+        LexicalScan scan = new LexicalScan(source);
+        scan.scan();
+        return scan.longest;
+    }
+
+    private void scan() {
+        while (position < source.length()) {
+            char current = source.charAt(position);
+            if (current == '\n') {
+                line++;
+                position++;
+            } else if (source.startsWith(LINE_COMMENT, position)) {
+                skipLineComment();
+            } else if (source.startsWith(BLOCK_COMMENT, position)) {
+                position += BLOCK_COMMENT.length();
+                skipUntil(BLOCK_COMMENT_END, false);
+            } else if (source.startsWith(TEXT_BLOCK, position)) {
+                position += TEXT_BLOCK.length();
+                skipUntil(TEXT_BLOCK, true);
+            } else if (current == '"' || current == '\'') {
+                position++;
+                skipUntil(String.valueOf(current), true);
+            } else {
+                if (!Character.isWhitespace(current)) {
+                    token(current);
+                }
+                position++;
+            }
+        }
+    }
+
+    private void token(char current) {
+        if (depth == 1 && memberStart == 0) {
+            memberStart = line;
+        }
+        if (current == '{') {
+            depth++;
+        } else if (current == '}') {
+            depth--;
+            if (depth == 1) {
+                longest = Math.max(longest, line - memberStart + 1);
+                memberStart = parentheses == 0 ? 0 : memberStart;
+            } else if (depth == 0) {
+                memberStart = 0;
+                parentheses = 0;
+            }
+        } else if (depth == 1) {
+            memberToken(current);
+        }
+    }
+
+    private void memberToken(char current) {
+        if (current == '(') {
+            parentheses++;
+        } else if (current == ')') {
+            parentheses--;
+        } else if (current == ';' && parentheses == 0) {
+            memberStart = 0;
+        }
+    }
+
+    private void skipLineComment() {
+        while (position < source.length() && source.charAt(position) != '\n') {
+            position++;
+        }
+    }
+
+    //literals may hold escaped characters, comments may not
+    private void skipUntil(String end, boolean escapes) {
+        while (position < source.length()) {
+            char current = source.charAt(position);
+            if (source.startsWith(end, position)) {
+                position += end.length();
+                return;
+            }
+            if (escapes && current == '\\') {
+                position++;
+                current = position < source.length() ? source.charAt(position) : current;
+            }
+            if (current == '\n') {
+                line++;
+            }
+            position++;
+        }
+    }
+}
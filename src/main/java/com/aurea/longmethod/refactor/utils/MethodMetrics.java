@@ -0,0 +1,221 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.utils.Utils;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Printed lines and nesting figures of the nodes of a method. Nesting is computed in a single post-order pass into
+ * arrays indexed by post-order number, so that candidate ranges are scored without walking the AST. Ranges of a method
+ * may be scored in parallel: lines are counted once printed, under no lock.
+ */
+public final class MethodMetrics {
+
+    private final Map<Node, Integer> ids = new IdentityHashMap<>();
+    private final Map<Node, Integer> lines = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final int[] depths;
+    private final int[] parents;
+    private final int[] positions;
+    private final boolean[] blocks;
+    private final int[] deepestChildren;
+    private final int[] secondChildDepths;
+    private final int[][] childDepthSums;
+    private final int[][] childDepthPrefixMax;
+    private final int[][] childDepthSuffixMax;
+    private final int bodyId;
+    @Getter
+    private final int length;
+    @Getter
+    private final int depth;
+    @Getter
+    private final int area;
+
+    private MethodMetrics(MethodDeclaration method) {
+        int size = method.findAll(Node.class).size();
+        depths = new int[size];
+        parents = new int[size];
+        positions = new int[size];
+        blocks = new boolean[size];
+        deepestChildren = new int[size];
+        secondChildDepths = new int[size];
+        childDepthSums = new int[size][];
+        childDepthPrefixMax = new int[size][];
+        childDepthSuffixMax = new int[size][];
+        int methodId = index(method, -1, 0);
+        bodyId = method.getBody().map(ids::get).orElse(-1);
+        length = ScoreUtils.methodLength(method);
+        depth = depths[methodId];
+        area = bodyId < 0 || childDepthSums[bodyId].length == 0 ? 0
+                : childDepthSums[bodyId][childDepthSums[bodyId].length - 1];
+    }
+
+    public static MethodMetrics of(MethodDeclaration method) {
+        return new MethodMetrics(method);
+    }
+
+    public int lines(Node node) {
+        Integer nodeLines = lines.get(node);
+        if (nodeLines == null) {
+            nodeLines = node.toString().split(Utils.EOL).length;
+            lines.put(node, nodeLines);
+        }
+        return nodeLines;
+    }
+
+    public int sumLines(List<? extends Node> nodes) {
+        return nodes.stream().mapToInt(this::lines).sum();
+    }
+
+    public int depth(Node node) {
+        return depths[id(node)];
+    }
+
+    public int maxDepth(List<? extends Node> nodes) {
+        return nodes.stream().mapToInt(this::depth).max().orElse(0);
+    }
+
+    /**
+     * Maximum depth of consecutive siblings, from {@code first} to {@code last}.
+     */
+    public int maxDepth(Node first, Node last) {
+        int parent = parents[id(first)];
+        int[] prefixMax = childDepthPrefixMax[parent];
+        int[] suffixMax = childDepthSuffixMax[parent];
+        int begin = positions[id(first)];
+        int end = positions[id(last)];
+        int max = 0;
+        if (begin == 0) {
+            max = prefixMax[end];
+        } else if (end == prefixMax.length - 1) {
+            max = suffixMax[begin];
+        } else {
+            for (int position = begin; position <= end; position++) {
+                max = Math.max(max, childDepth(parent, position));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Summed depth of consecutive siblings, from {@code first} to {@code last}.
+     */
+    public int sumDepth(Node first, Node last) {
+        int[] sums = childDepthSums[parents[id(first)]];
+        int begin = positions[id(first)];
+        return sums[positions[id(last)]] - (begin == 0 ? 0 : sums[begin - 1]);
+    }
+
+    /**
+     * Nesting depth of the method once consecutive siblings, from {@code first} to {@code last}, give way to a single
+     * node of depth {@code replacingDepth}.
+     */
+    public int remainingDepth(Node first, Node last, int replacingDepth) {
+        int child = parents[id(first)];
+        int childDepth = depthWithout(child, positions[id(first)], positions[id(last)], replacingDepth);
+        while (parents[child] >= 0) {
+            childDepth = depthWithout(parents[child], child, childDepth);
+            child = parents[child];
+        }
+        return childDepth;
+    }
+
+    /**
+     * Nesting area of the method once consecutive siblings, from {@code first} to {@code last}, give way to a single
+     * node of depth {@code replacingDepth}.
+     */
+    public int remainingArea(Node first, Node last, int replacingDepth) {
+        int child = parents[id(first)];
+        if (child == bodyId) {
+            return area - sumDepth(first, last) + replacingDepth;
+        }
+        int childDepth = depthWithout(child, positions[id(first)], positions[id(last)], replacingDepth);
+        while (parents[child] != bodyId) {
+            childDepth = depthWithout(parents[child], child, childDepth);
+            child = parents[child];
+        }
+        return area - depths[child] + childDepth;
+    }
+
+    private int depthWithout(int node, int begin, int end, int replacingDepth) {
+        int[] prefixMax = childDepthPrefixMax[node];
+        int[] suffixMax = childDepthSuffixMax[node];
+        int before = begin == 0 ? 0 : prefixMax[begin - 1];
+        int after = end == suffixMax.length - 1 ? 0 : suffixMax[end + 1];
+        return added(node) + Math.max(Math.max(before, after), replacingDepth);
+    }
+
+    private int depthWithout(int node, int child, int replacingDepth) {
+        int others = deepestChildren[node] == child ? secondChildDepths[node] : depths[deepestChildren[node]];
+        return added(node) + Math.max(others, replacingDepth);
+    }
+
+    private int added(int node) {
+        return blocks[node] ? 1 : 0;
+    }
+
+    private int childDepth(int parent, int position) {
+        int[] sums = childDepthSums[parent];
+        return sums[position] - (position == 0 ? 0 : sums[position - 1]);
+    }
+
+    private int id(Node node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Node does not belong to the method: " + node);
+        }
+        return id;
+    }
+
+    //post-order: children get their numbers and depths before their parent
+    private int index(Node node, int parent, int position) {
+        List<Node> children = node.getChildNodes();
+        int[] childIds = new int[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+            childIds[i] = index(children.get(i), -1, i);
+        }
+        int id = ids.size();
+        ids.put(node, id);
+        for (int childId : childIds) {
+            parents[childId] = id;
+        }
+        parents[id] = parent;
+        positions[id] = position;
+        blocks[id] = node instanceof BlockStmt;
+        summarizeChildren(id, childIds);
+        depths[id] = added(id) + (childIds.length == 0 ? 0 : childDepthPrefixMax[id][childIds.length - 1]);
+        return id;
+    }
+
+    private void summarizeChildren(int id, int[] childIds) {
+        int[] sums = new int[childIds.length];
+        int[] prefixMax = new int[childIds.length];
+        int[] suffixMax = new int[childIds.length];
+        int deepest = -1;
+        int second = 0;
+        for (int i = 0; i < childIds.length; i++) {
+            int childDepth = depths[childIds[i]];
+            sums[i] = (i == 0 ? 0 : sums[i - 1]) + childDepth;
+            prefixMax[i] = Math.max(i == 0 ? 0 : prefixMax[i - 1], childDepth);
+            if (deepest < 0 || childDepth > depths[deepest]) {
+                second = deepest < 0 ? 0 : depths[deepest];
+                deepest = childIds[i];
+            } else {
+                second = Math.max(second, childDepth);
+            }
+        }
+        for (int i = childIds.length - 1; i >= 0; i--) {
+            suffixMax[i] = Math.max(i == childIds.length - 1 ? 0 : suffixMax[i + 1], depths[childIds[i]]);
+        }
+        childDepthSums[id] = sums;
+        childDepthPrefixMax[id] = prefixMax;
+        childDepthSuffixMax[id] = suffixMax;
+        deepestChildren[id] = deepest;
+        secondChildDepths[id] = second;
+    }
+}
@@ -0,0 +1,72 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Pre-order number and last descendant number of every node of a method: a node is a descendant of another when its
+ * number falls in the other's interval. Every numbered node holds the intervals it belongs to, so they are found
+ * without walking up the AST. Nodes are numbered by identity, their clones are not numbered.
+ */
+public final class NodeIntervals {
+
+    private static final DataKey<NodeIntervals> NODE_INTERVALS_KEY = new DataKey<NodeIntervals>() {
+    };
+
+    private final Node root;
+    private final Map<Node, Integer> numbers = new IdentityHashMap<>();
+    private final int[] lastDescendants;
+    //set once the method changed, its nodes may still hold the intervals but no longer find them
+    private volatile boolean stale;
+
+    private NodeIntervals(Node root) {
+        this.root = root;
+        lastDescendants = new int[root.findAll(Node.class).size()];
+        number(root);
+    }
+
+    public static NodeIntervals attach(MethodDeclaration method) {
+        Optional<NodeIntervals> intervals = find(method).filter(found -> found.root == method);
+        if (intervals.isPresent()) {
+            return intervals.get();
+        }
+        return new NodeIntervals(method);
+    }
+
+    public static void invalidate(MethodDeclaration method) {
+        find(method).ifPresent(intervals -> intervals.stale = true);
+    }
+
+    static Optional<NodeIntervals> find(Node node) {
+        return node.containsData(NODE_INTERVALS_KEY) ? Optional.of(node.getData(NODE_INTERVALS_KEY))
+                .filter(intervals -> !intervals.stale) : Optional.empty();
+    }
+
+    /**
+     * Whether {@code descendant} is {@code node} or one of its descendants, empty when either is not numbered.
+     */
+    Optional<Boolean> isDescendantOf(Node descendant, Node node) {
+        Integer descendantNumber = numbers.get(descendant);
+        Integer nodeNumber = numbers.get(node);
+        if (descendantNumber == null || nodeNumber == null) {
+            return Optional.empty();
+        }
+        return Optional.of(nodeNumber <= descendantNumber && descendantNumber <= lastDescendants[nodeNumber]);
+    }
+
+    private int number(Node node) {
+        int nodeNumber = numbers.size();
+        numbers.put(node, nodeNumber);
+        node.setData(NODE_INTERVALS_KEY, this);
+        int last = nodeNumber;
+        for (Node child : node.getChildNodes()) {
+            last = number(child);
+        }
+        lastDescendants[nodeNumber] = last;
+        return last;
+    }
+}
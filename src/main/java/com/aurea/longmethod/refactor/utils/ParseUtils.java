@@ -0,0 +1,44 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Analysis parse of a file: nodes keep their positions and comments, the tokens they were read from are released. The
+ * tokens, linked one to the next, are only needed to print a file back as it was, or to give its clones their
+ * positions, so files that are not rewritten do not keep them while they wait for and go through their analysis. The
+ * parse itself is a full one, it costs as much: javaparser does not store the positions of the nodes without their
+ * tokens, and leaving comments unattributed would change the printed lengths methods are scored on.
+ */
+@UtilityClass
+public class ParseUtils {
+
+    private static final DataKey<Boolean> LEAN_KEY = new DataKey<Boolean>() {
+    };
+
+    /**
+     * Turns a parsed file into an analysis parse.
+     */
+    public static void releaseTokens(CompilationUnit compilationUnit) {
+        //a single node holding on to its tokens keeps them all, they are linked
+        for (Node node : compilationUnit.findAll(Node.class)) {
+            Optional<Range> range = node.getRange();
+            node.setTokenRange(null);
+            node.setRange(range.orElse(null));
+        }
+        compilationUnit.setData(LEAN_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * Whether the node belongs to an analysis parse, whose changes would leave nodes with no position.
+     */
+    public static boolean isLean(Node node) {
+        Optional<CompilationUnit> compilationUnit = node instanceof CompilationUnit
+                ? Optional.of((CompilationUnit) node) : node.getAncestorOfType(CompilationUnit.class);
+        return compilationUnit.filter(unit -> unit.containsData(LEAN_KEY)).isPresent();
+    }
+}
@@ -0,0 +1,91 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per method memo of symbol resolutions, keyed by node identity so that clones of the method never hit it.
+ */
+public final class ResolutionCache {
+
+    private static final DataKey<ResolutionCache> RESOLUTION_CACHE_KEY = new DataKey<ResolutionCache>() {
+    };
+    //left under the key of a changed method, so that its stale resolutions are no longer found
+    private static final ResolutionCache INVALID = new ResolutionCache();
+
+    private final Map<Node, Object> resolved = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder resolveNanos = new LongAdder();
+
+    private ResolutionCache() {
+    }
+
+    public static ResolutionCache attach(MethodDeclaration method) {
+        if (!method.containsData(RESOLUTION_CACHE_KEY) || method.getData(RESOLUTION_CACHE_KEY) == INVALID) {
+            method.setData(RESOLUTION_CACHE_KEY, new ResolutionCache());
+        }
+        return method.getData(RESOLUTION_CACHE_KEY);
+    }
+
+    public static void invalidate(MethodDeclaration method) {
+        method.setData(RESOLUTION_CACHE_KEY, INVALID);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T resolve(Node node, Supplier<T> resolver) {
+        Optional<ResolutionCache> maybeCache = findCache(node);
+        if (!maybeCache.isPresent() || maybeCache.get() == INVALID) {
+            return resolver.get();
+        }
+        ResolutionCache cache = maybeCache.get();
+        Object value = cache.resolved.get(node);
+        if (value != null) {
+            cache.hits.increment();
+            return (T) value;
+        }
+        cache.misses.increment();
+        long started = System.nanoTime();
+        T newValue = resolver.get();
+        cache.resolveNanos.add(System.nanoTime() - started);
+        cache.resolved.put(node, newValue);
+        return newValue;
+    }
+
+    private static Optional<ResolutionCache> findCache(Node node) {
+        Optional<Node> current = Optional.of(node);
+        while (current.isPresent()) {
+            if (current.get().containsData(RESOLUTION_CACHE_KEY)) {
+                return Optional.of(current.get().getData(RESOLUTION_CACHE_KEY));
+            }
+            current = current.get().getParentNode();
+        }
+        return Optional.empty();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Time spent resolving the misses.
+     */
+    public long getResolveNanos() {
+        return resolveNanos.sum();
+    }
+
+    public int size() {
+        return resolved.size();
+    }
+}
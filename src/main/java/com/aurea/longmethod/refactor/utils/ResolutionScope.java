@@ -0,0 +1,136 @@
+package com.aurea.longmethod.refactor.utils;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.SymbolResolver;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.types.ResolvedType;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Symbol resolver of a file, resolving only while one of its long methods is analysed or refactored: symbols of the
+ * other methods are never solved, nor the types they name loaded by the type solvers. Resolutions of a file are
+ * serialised, javaparser solvers are not safe to share between threads, while its methods may be analysed in parallel.
+ */
+public final class ResolutionScope {
+
+    private static final DataKey<ResolutionScope> RESOLUTION_SCOPE_KEY = new DataKey<ResolutionScope>() {
+    };
+
+    //methods being resolved, symbols are resolved from the first to open until the last to close
+    private int opened;
+
+    private ResolutionScope() {
+    }
+
+    public static void attach(CompilationUnit compilationUnit, SymbolResolver symbolResolver) {
+        ResolutionScope scope = new ResolutionScope();
+        compilationUnit.setData(RESOLUTION_SCOPE_KEY, scope);
+        compilationUnit.setData(Node.SYMBOL_RESOLVER_KEY, scope.new SerialSymbolResolver(symbolResolver));
+    }
+
+    /**
+     * Runs the analysis of a method, or of a whole file, with the symbols of its file resolvable. Parallel analyses
+     * of its methods are run within that of the file: the file is not changed while they run.
+     */
+    public static <T> T resolving(Node node, Supplier<T> analysis) {
+        Optional<CompilationUnit> compilationUnit = node instanceof CompilationUnit
+                ? Optional.of((CompilationUnit) node) : node.getAncestorOfType(CompilationUnit.class);
+        Optional<ResolutionScope> scope = compilationUnit
+                .filter(unit -> unit.containsData(RESOLUTION_SCOPE_KEY))
+                .map(unit -> unit.getData(RESOLUTION_SCOPE_KEY));
+        if (!scope.isPresent()) {
+            return analysis.get();
+        }
+        scope.get().open();
+        try {
+            return analysis.get();
+        } finally {
+            scope.get().close();
+        }
+    }
+
+    /**
+     * Types named in the bodies of the methods left unresolved and nowhere else in the file: types no symbol of the
+     * file makes the type solvers load. An estimate: types are told apart by simple name, and java.lang types or type
+     * variables, which would not be loaded from the sources either, are counted too.
+     */
+    public static int countUnresolvedTypes(CompilationUnit compilationUnit,
+            BiPredicate<TypeDeclaration<?>, MethodDeclaration> resolved) {
+        Set<ClassOrInterfaceType> unresolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TypeDeclaration<?> type : compilationUnit.findAll(TypeDeclaration.class)) {
+            type.getMethods().stream().filter(method -> !resolved.test(type, method))
+                    .forEach(method -> method.getBody().ifPresent(body ->
+                            unresolved.addAll(body.findAll(ClassOrInterfaceType.class))));
+        }
+        Set<String> named = compilationUnit.findAll(ClassOrInterfaceType.class).stream()
+                .filter(typeName -> !unresolved.contains(typeName)).map(ClassOrInterfaceType::getNameAsString)
+                .collect(Collectors.toSet());
+        return (int) unresolved.stream().map(ClassOrInterfaceType::getNameAsString).distinct()
+                .filter(name -> !named.contains(name)).count();
+    }
+
+    private synchronized void open() {
+        opened++;
+    }
+
+    private synchronized void close() {
+        opened--;
+    }
+
+    private synchronized boolean isOpen() {
+        return opened > 0;
+    }
+
+    //refuses to resolve outside of the analyses, as a symbol no type solver knows of
+    private final class SerialSymbolResolver implements SymbolResolver {
+
+        private final SymbolResolver symbolResolver;
+
+        private SerialSymbolResolver(SymbolResolver symbolResolver) {
+            this.symbolResolver = symbolResolver;
+        }
+
+        @Override
+        public <T> T resolveDeclaration(Node node, Class<T> resultClass) {
+            checkOpen(node);
+            synchronized (symbolResolver) {
+                return symbolResolver.resolveDeclaration(node, resultClass);
+            }
+        }
+
+        @Override
+        public <T> T toResolvedType(Type javaparserType, Class<T> resultClass) {
+            checkOpen(javaparserType);
+            synchronized (symbolResolver) {
+                return symbolResolver.toResolvedType(javaparserType, resultClass);
+            }
+        }
+
+        @Override
+        public ResolvedType calculateType(Expression expression) {
+            checkOpen(expression);
+            synchronized (symbolResolver) {
+                return symbolResolver.calculateType(expression);
+            }
+        }
+
+        private void checkOpen(Node node) {
+            if (!isOpen()) {
+                throw new UnsolvedSymbolException(node.toString(), "resolved outside of the analysis of its method");
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.aurea.longmethod.refactor.utils;
 
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.NameExpr;
@@ -45,11 +46,17 @@ public class ResolveUtils {
     }
 
     static Optional<ResolvedValueDeclaration> resolveNameExpression(NameExpr nameExpr) {
-        try {
-            return Optional.of(nameExpr.resolve());
-        } catch (UnsolvedSymbolException ex) {
-            return Optional.empty();
-        }
+        return ResolutionCache.resolve(nameExpr, () -> {
+            try {
+                return Optional.of(nameExpr.resolve());
+            } catch (UnsolvedSymbolException ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    static ResolvedValueDeclaration resolveDeclarator(VariableDeclarator declarator) {
+        return ResolutionCache.resolve(declarator, declarator::resolve);
     }
 
     static ResolvedValueDeclaration resolveTarget(AssignExpr assignExpr) {
@@ -60,9 +67,15 @@ public class ResolveUtils {
         return resolveTargetExpression(unaryExpr.getExpression());
     }
 
+    //a name shares its cached resolution with the other reads of the name
     private static ResolvedValueDeclaration resolveTargetExpression(Expression target) {
+        if (target instanceof NameExpr) {
+            NameExpr nameExpr = (NameExpr) target;
+            return resolveNameExpression(nameExpr)
+                    .orElseThrow(() -> new UnsolvedSymbolException(nameExpr.getNameAsString()));
+        }
         if (target instanceof Resolvable) {
-            Object resolved = ((Resolvable) target).resolve();
+            Object resolved = ResolutionCache.resolve(target, ((Resolvable) target)::resolve);
             if (resolved instanceof ResolvedValueDeclaration) {
                 return (ResolvedValueDeclaration) resolved;
             }
@@ -95,14 +108,40 @@ public class ResolveUtils {
         return isDescendantOf(wrappedNode, nodes);
     }
 
+    /**
+     * Whether the declaration is declared in {@code nodes}, copied from the nodes it was resolved in: copies keep the
+     * position and the content of their originals, not their identity.
+     */
+    public static boolean isDeclaredInCopy(ResolvedValueDeclaration declaration, List<? extends Node> nodes) {
+        Node wrappedNode = getWrappedNode(declaration);
+        return nodes.stream().anyMatch(node -> containsCopy(node, wrappedNode));
+    }
+
+    /**
+     * Whether {@code descendant} is one of {@code nodes} or one of their descendants, nodes being compared by
+     * identity.
+     */
     public static boolean isDescendantOf(Node descendant, List<? extends Node> nodes) {
-        return nodes.stream().anyMatch(node -> isDescendantOf(descendant, node));
+        Optional<NodeIntervals> intervals = NodeIntervals.find(descendant);
+        return nodes.stream().anyMatch(node -> intervals.flatMap(index -> index.isDescendantOf(descendant, node))
+                .orElseGet(() -> isAncestor(node, descendant)));
+    }
+
+    //nodes out of the intervals of a method are looked for among the ancestors
+    private static boolean isAncestor(Node node, Node descendant) {
+        for (Optional<Node> current = Optional.of(descendant); current.isPresent();
+                current = current.get().getParentNode()) {
+            if (current.get() == node) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private static boolean isDescendantOf(Node descendant, Node node) {
-        if (node.equals(descendant)) {
+    private static boolean containsCopy(Node node, Node original) {
+        if (node.getRange().equals(original.getRange()) && node.equals(original)) {
             return true;
         }
-        return isDescendantOf(descendant, node.getChildNodes());
+        return node.getChildNodes().stream().anyMatch(child -> containsCopy(child, original));
     }
 }
@@ -1,9 +1,6 @@
 package com.aurea.longmethod.refactor.utils;
 
-import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.stmt.BlockStmt;
-import com.github.javaparser.ast.type.VoidType;
 import com.github.javaparser.utils.Utils;
 import lombok.experimental.UtilityClass;
 
@@ -12,53 +9,29 @@ public class ScoreUtils {
 
     private static final int MAX_SCORE_PARAM = 4;
 
-    public static boolean reducesLength(MethodDeclaration method, MethodDeclaration candidateMethod,
-            MethodDeclaration remainingMethod) {
-        int length = methodLength(method);
-        return length > methodLength(candidateMethod) && length > methodLength(remainingMethod);
+    public static boolean reducesLength(int length, int candidateLength, int remainingLength) {
+        return length > candidateLength && length > remainingLength;
     }
 
-    public static int paramsScore(MethodDeclaration candidateMethod) {
-        int returns = candidateMethod.getType() instanceof VoidType ? 0 : 1;
-        return MAX_SCORE_PARAM - returns - candidateMethod.getParameters().size();
+    public static int paramsScore(boolean returnsValue, int parameters) {
+        int returns = returnsValue ? 1 : 0;
+        return MAX_SCORE_PARAM - returns - parameters;
     }
 
-    public static boolean isLengthEnough(MethodDeclaration method, int minLength) {
-        return methodLength(method) >= minLength;
+    public static boolean isLengthEnough(int length, int minLength) {
+        return length >= minLength;
     }
 
-    public static int nestingDepthSocre(MethodDeclaration method, MethodDeclaration candidateMethod,
-            MethodDeclaration remainingMethod) {
-        int methodDepth = nestingDepth(method);
-        int candidateDepth = nestingDepth(candidateMethod);
-        int remainingDepth = nestingDepth(remainingMethod);
+    public static int nestingDepthSocre(int methodDepth, int candidateDepth, int remainingDepth) {
         return Math.min(methodDepth - remainingDepth, methodDepth - candidateDepth);
     }
 
-    public static float nestingAreaScore(MethodDeclaration method, MethodDeclaration candidateMethod,
-            MethodDeclaration remainingMethod) {
-        int methodNestArea = nestingArea(method);
-        int candidateNestingArea = nestingArea(candidateMethod);
-        int remainingNestArea = nestingArea(remainingMethod);
+    public static float nestingAreaScore(int methodDepth, int methodNestArea, int candidateNestingArea,
+            int remainingNestArea) {
         int areaReduction = Math.min(methodNestArea - candidateNestingArea, methodNestArea - remainingNestArea);
-        int methodDepth = nestingDepth(method);
         return 2f * methodDepth * areaReduction / methodNestArea;
     }
 
-    private static int nestingArea(MethodDeclaration methodDeclaration) {
-        return methodDeclaration.getBody().map(ScoreUtils::nestingArea).orElse(0);
-    }
-
-    private static int nestingArea(BlockStmt blockStmt) {
-        return blockStmt.getChildNodes().stream().mapToInt(ScoreUtils::nestingDepth).sum();
-    }
-
-    private static int nestingDepth(Node node) {
-        int addedDepth = node instanceof BlockStmt ? 1 : 0;
-        return addedDepth + node.getChildNodes().stream().mapToInt(ScoreUtils::nestingDepth).max()
-                .orElse(0);
-    }
-
     public static int methodLength(MethodDeclaration method) {
         return method.toString().split(Utils.EOL).length;
     }
@@ -0,0 +1,95 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+
+class AnalysisBudgetSpec extends LongMethodRefactorSpec {
+
+    //5 top level statements make 5 candidate ranges, the 4 statements of the loop 3 more
+    static final String SUM = """
+        package com.aurea.longmethod.refactor;
+
+        public class Sum {
+
+            public int sum(int[] values) {
+                int total = 0;
+                int count = 0;
+                for (int value : values) {
+                    total += value;
+                    count++;
+                    System.out.println(value);
+                    System.out.println(total);
+                }
+                System.out.println("count " + count);
+                return total;
+            }
+        }
+        """
+
+    MeterRegistry registry = new SimpleMeterRegistry()
+    RefactoringMetrics metrics = new RefactoringMetrics(registry, 10000)
+
+    def "Should not limit an analysis without budget"() {
+        given:
+        AnalysisBudget.FileBudget budget = new AnalysisBudget(0, 0, 0).startFile()
+
+        expect:
+        !budget.isFileExceeded()
+        !budget.isMethodExceeded(System.nanoTime() - 1_000_000_000_000L, Integer.MAX_VALUE)
+    }
+
+    def "Should exceed the method budget past its number of candidate ranges"() {
+        given:
+        AnalysisBudget.FileBudget budget = new AnalysisBudget(0, 0, 5).startFile()
+
+        expect:
+        !budget.isMethodExceeded(System.nanoTime(), 5)
+        budget.isMethodExceeded(System.nanoTime(), 6)
+    }
+
+    def "Should exceed the budget of every method once the file is over budget"() {
+        given:
+        AnalysisBudget.FileBudget budget = new AnalysisBudget(1, 0, 0).startFile()
+
+        when:
+        Thread.sleep(20)
+
+        then:
+        budget.isFileExceeded()
+        budget.isMethodExceeded(System.nanoTime(), 0)
+    }
+
+    def "Should search only the top level ranges of a method whose full search is over budget"() {
+        when:
+        File refactored = onClassCode(SUM) { longMethodRefactorWithBudget(it, new AnalysisBudget(0, 0, 5)) }
+
+        then:
+        budgetExceeded("top_level_only") > 0
+        budgetExceeded("method_skipped") == 0
+        compiles(refactored)
+    }
+
+    def "Should skip a method whose top level search is over budget too"() {
+        when:
+        File refactored = onClassCode(SUM) { longMethodRefactorWithBudget(it, new AnalysisBudget(0, 0, 1)) }
+
+        then:
+        budgetExceeded("top_level_only") > 0
+        budgetExceeded("method_skipped") > 0
+        refactored.text == JavaParser.parse(SUM).toString()
+    }
+
+    private LongMethodRefactor longMethodRefactorWithBudget(String srcDir, AnalysisBudget analysisBudget) {
+        return longMethodRefactorWithLength(srcDir, 5, false, 1, metrics, analysisBudget)
+    }
+
+    private double budgetExceeded(String outcome) {
+        return registry.get("longmethod.budget.exceeded").tag("outcome", outcome).counter().count()
+    }
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 5)
+    }
+}
@@ -0,0 +1,123 @@
+package com.aurea.longmethod.refactor
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+
+class AnalysisCacheSpec extends Specification {
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Path root
+    Path file
+    Path other
+    AnalysisCache cache
+
+    def setup() {
+        root = folder.newFolder("src").toPath()
+        file = root.resolve("Test.java")
+        other = root.resolve("Other.java")
+        cache = new AnalysisCache(folder.newFolder("cache").getAbsolutePath())
+    }
+
+    def "Should miss files never recorded"() {
+        expect:
+        !cache.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should hit a file recorded with the same content and configuration"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.UNCHANGED)
+
+        expect:
+        cache.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should miss a file whose content changed"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.REFACTORED)
+
+        expect:
+        !cache.open(root, "conf", false).isUpToDate(file, bytes("class Test { int field; }"))
+    }
+
+    def "Should miss every file once the configuration changed"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.UNCHANGED)
+
+        expect:
+        !cache.open(root, "other conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should analyse failed files again"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.FAILED)
+
+        expect:
+        !cache.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should drop the entries of files a full run does not go through"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.UNCHANGED)
+        record(other, "class Other {}", AnalysisCache.Outcome.UNCHANGED)
+
+        when:
+        cache.open(root, "conf", false).save()
+
+        then:
+        !cache.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should keep the entries of files a partial run does not go through"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.UNCHANGED)
+
+        when:
+        AnalysisCache.Session partial = cache.open(root, "conf", true)
+        partial.record(other, bytes("class Other {}"), AnalysisCache.Outcome.REFACTORED)
+        partial.save()
+
+        then:
+        AnalysisCache.Session next = cache.open(root, "conf", false)
+        next.isUpToDate(file, bytes("class Test {}"))
+        next.isUpToDate(other, bytes("class Other {}"))
+    }
+
+    def "Should keep a hit for the next run"() {
+        given:
+        record(file, "class Test {}", AnalysisCache.Outcome.UNCHANGED)
+
+        when:
+        AnalysisCache.Session session = cache.open(root, "conf", false)
+        session.isUpToDate(file, bytes("class Test {}"))
+        session.save()
+
+        then:
+        cache.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    def "Should keep nothing without a cache directory"() {
+        given:
+        AnalysisCache disabled = new AnalysisCache("")
+        AnalysisCache.Session session = disabled.open(root, "conf", false)
+        session.record(file, bytes("class Test {}"), AnalysisCache.Outcome.UNCHANGED)
+        session.save()
+
+        expect:
+        !disabled.open(root, "conf", false).isUpToDate(file, bytes("class Test {}"))
+    }
+
+    private void record(Path path, String content, AnalysisCache.Outcome outcome) {
+        AnalysisCache.Session session = cache.open(root, "conf", true)
+        session.record(path, bytes(content), outcome)
+        session.save()
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8)
+    }
+}
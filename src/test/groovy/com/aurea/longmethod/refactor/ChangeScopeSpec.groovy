@@ -0,0 +1,103 @@
+package com.aurea.longmethod.refactor
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class ChangeScopeSpec extends Specification {
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Path root
+
+    def setup() {
+        root = folder.newFolder("src").toPath()
+        ["Moved.java", "Added.java", "notes.txt"].each { root.resolve(it).toFile().text = "" }
+    }
+
+    def "Should read the changed lines of every hunk by new file name"() {
+        given:
+        String diff = """\
+            diff --git Renamed.java Moved.java
+            similarity index 90%
+            rename from Renamed.java
+            rename to Moved.java
+            index 1234567..89abcde 100644
+            --- Renamed.java
+            +++ Moved.java
+            @@ -3 +3 @@
+            -    int old;
+            +    int renamed;
+            diff --git Added.java Added.java
+            index 1234567..89abcde 100644
+            --- Added.java
+            +++ Added.java
+            @@ -10,0 +11,3 @@
+            +    void a() {
+            +    }
+            +
+            @@ -20,2 +22,0 @@
+            -    void b() {
+            -    }
+            diff --git Gone.java Gone.java
+            deleted file mode 100644
+            index 1234567..0000000
+            --- Gone.java
+            +++ /dev/null
+            @@ -1,2 +0,0 @@
+            -class Gone {
+            -}
+            diff --git notes.txt notes.txt
+            index 1234567..89abcde 100644
+            --- notes.txt
+            +++ notes.txt
+            @@ -1 +1 @@
+            -old
+            +new
+            """.stripIndent()
+
+        when:
+        Map<Path, List<int[]>> changed = ChangeScope.parseDiff(root, new BufferedReader(new StringReader(diff)))
+
+        then:
+        changed.keySet() == [root.resolve("Moved.java"), root.resolve("Added.java")] as Set
+        changed[root.resolve("Moved.java")]*.toList() == [[3, 3]]
+        changed[root.resolve("Added.java")]*.toList() == [[11, 13], [22, 22]]
+    }
+
+    def "Should ignore a rename without changes"() {
+        given:
+        String diff = """\
+            diff --git Renamed.java Moved.java
+            similarity index 100%
+            rename from Renamed.java
+            rename to Moved.java
+            """.stripIndent()
+
+        expect:
+        ChangeScope.parseDiff(root, new BufferedReader(new StringReader(diff))).isEmpty()
+    }
+
+    def "Should restrict a run to the listed Java files of the root"() {
+        given:
+        File list = folder.newFile("changed.txt")
+        list.text = [root.resolve("Added.java").toAbsolutePath(), root.resolve("notes.txt").toAbsolutePath(),
+                     root.resolve("Missing.java").toAbsolutePath(), folder.newFile("Outside.java").getAbsolutePath(),
+                     ""].join("\n")
+        ChangeScope scope = new ChangeScope(root.toString(), "", list.getAbsolutePath())
+
+        when:
+        Map<Path, MethodScope> changed = scope.getChangedFiles(root).get()
+
+        then:
+        changed.keySet() == [root.resolve("Added.java")] as Set
+        changed[root.resolve("Added.java")].isWholeFile()
+    }
+
+    def "Should refactor every file without a change to restrict to"() {
+        expect:
+        !new ChangeScope(root.toString(), "", "").getChangedFiles(root).isPresent()
+    }
+}
@@ -0,0 +1,76 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.body.MethodDeclaration
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+
+class LongMethodRefactorExtractionsSpec extends LongMethodRefactorSpec {
+
+    static final String REPORT = """
+        package com.aurea.longmethod.refactor;
+
+        import java.util.ArrayList;
+        import java.util.List;
+
+        public class Report {
+
+            public String build(List<Integer> values) {
+                int total = 0;
+                for (Integer value : values) {
+                    if (value > 0) {
+                        total += value;
+                    }
+                }
+                System.out.println("total " + total);
+                System.out.println("count " + values.size());
+                System.out.println("done");
+                List<String> lines = new ArrayList<>();
+                for (Integer value : values) {
+                    if (value % 2 == 0) {
+                        lines.add("even " + value);
+                    } else {
+                        lines.add("odd " + value);
+                    }
+                }
+                lines.add("total " + total);
+                lines.add("end");
+                StringBuilder text = new StringBuilder();
+                for (String line : lines) {
+                    text.append(line);
+                    text.append('\\n');
+                }
+                return text.toString();
+            }
+        }
+        """
+
+    def "Should apply several non-overlapping extractions of a method in one round"() {
+        given:
+        MeterRegistry registry = new SimpleMeterRegistry()
+        RefactoringMetrics metrics = new RefactoringMetrics(registry, 10000)
+
+        when:
+        File refactored = onClassCode(REPORT) { longMethodRefactorWithLength(it, 10, false, 2, metrics) }
+
+        then:
+        compiles(refactored)
+        JavaParser.parse(refactored).findAll(MethodDeclaration).size() > 2
+        registry.get("longmethod.candidates").tag("outcome", "applied").counter().count() >
+                registry.get("longmethod.rounds").summary().totalAmount()
+    }
+
+    def "Should apply several extractions of a method re-parsing only the changed methods"() {
+        when:
+        File refactored = onClassCode(REPORT) { longMethodRefactorWithLength(it, 10, true, 2) }
+
+        then:
+        compiles(refactored)
+        JavaParser.parse(refactored).findAll(MethodDeclaration).size() > 2
+    }
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 10, false, 2)
+    }
+}
@@ -0,0 +1,9 @@
+package com.aurea.longmethod.refactor
+
+class LongMethodRefactorIncrementalSpec extends LongMethodRefactorLenghtThirtySpec {
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 30, true)
+    }
+}
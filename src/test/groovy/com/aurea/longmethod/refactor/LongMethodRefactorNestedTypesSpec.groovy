@@ -0,0 +1,120 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.body.MethodDeclaration
+import com.github.javaparser.ast.body.TypeDeclaration
+import spock.lang.Unroll
+
+class LongMethodRefactorNestedTypesSpec extends LongMethodRefactorSpec {
+
+    //17 top level statements, long enough for a maximum length of 10
+    static final String BODY = """
+                int a = names.size();
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                int b = a + 1;
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                int c = b + 1;
+                System.out.println("value " + c);
+                System.out.println("value " + c);
+                System.out.println("value " + c);
+                int d = c + 1;
+                System.out.println("value " + d);
+                System.out.println("value " + d);
+                System.out.println("value " + d);
+                System.out.println("end");
+    """
+
+    static final String NESTED_CLASS = """
+        package com.aurea.longmethod.refactor;
+
+        import java.util.List;
+
+        public class Outer {
+
+            static class Printer {
+
+                public void print(List<String> names) {
+                    $BODY
+                }
+            }
+        }
+        """
+
+    static final String ENUM = """
+        package com.aurea.longmethod.refactor;
+
+        import java.util.List;
+
+        public enum Mode {
+            FAST, SLOW;
+
+            public void print(List<String> names) {
+                $BODY
+            }
+        }
+        """
+
+    static final String ANONYMOUS_AND_CONSTANT_BODIES = """
+        package com.aurea.longmethod.refactor;
+
+        import java.util.List;
+        import java.util.function.Consumer;
+
+        public enum Printers {
+            DEFAULT {
+                public void print(List<String> names) {
+                    $BODY
+                }
+            };
+
+            public abstract void print(List<String> names);
+
+            public static Consumer<List<String>> printer() {
+                return new Consumer<List<String>>() {
+                    public void accept(List<String> names) {
+                        $BODY
+                    }
+                };
+            }
+        }
+        """
+
+    @Unroll
+    def "Should refactor a long method of #description"() {
+        when:
+        File refactored = onClassCode(code) { longMethodRefactor(it) }
+
+        then: "the method is split within its own type"
+        TypeDeclaration<?> type = JavaParser.parse(refactored).findAll(TypeDeclaration)
+                .find { it.nameAsString == typeName }
+        type.methods.size() > 1
+        type.getMethodsByName("print").first().body.get().statements.size() < 17
+        compiles(refactored)
+
+        where:
+        description      | code         | typeName
+        "a nested class" | NESTED_CLASS | "Printer"
+        "an enum"        | ENUM         | "Mode"
+    }
+
+    def "Should leave long methods of anonymous classes and enum constants as they are"() {
+        when:
+        File refactored = onClassCode(ANONYMOUS_AND_CONSTANT_BODIES) { longMethodRefactor(it) }
+
+        then:
+        CompilationUnit unit = JavaParser.parse(refactored)
+        unit == JavaParser.parse(ANONYMOUS_AND_CONSTANT_BODIES)
+        unit.findAll(MethodDeclaration).size() == 4
+        compiles(refactored)
+    }
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 10)
+    }
+}
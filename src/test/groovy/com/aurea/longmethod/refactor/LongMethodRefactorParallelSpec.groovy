@@ -0,0 +1,85 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Unroll
+
+class LongMethodRefactorParallelSpec extends LongMethodRefactorSpec {
+
+    //17 top level statements, enough for their ranges to be searched in parallel, repeated so that candidates tie
+    static final String PRINTER = """
+        package com.aurea.longmethod.refactor;
+
+        import java.util.List;
+
+        public class Printer {
+
+            public void print(List<String> names) {
+                int a = names.size();
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                int b = a + 1;
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                int c = b + 1;
+                System.out.println("value " + c);
+                System.out.println("value " + c);
+                System.out.println("value " + c);
+                int d = c + 1;
+                System.out.println("value " + d);
+                System.out.println("value " + d);
+                System.out.println("value " + d);
+                System.out.println("end");
+            }
+
+            public void printAll(List<String> names) {
+                for (String name : names) {
+                    System.out.println("name " + name);
+                    System.out.println("name " + name);
+                    System.out.println("name " + name);
+                }
+                int a = names.size();
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                System.out.println("value " + a);
+                int b = a + 1;
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                System.out.println("value " + b);
+                System.out.println("end");
+            }
+        }
+        """
+
+    @Unroll
+    def "Should refactor the same in parallel as one at a time, with #maxExtractions extractions, incremental #incremental"() {
+        when:
+        File sequential = onClassCode(PRINTER, "sequential") { refactor(it, incremental, maxExtractions, 1) }
+        File parallel = onClassCode(PRINTER, "parallel") { refactor(it, incremental, maxExtractions, 4) }
+
+        then:
+        parallel.text == sequential.text
+        sequential.text != JavaParser.parse(PRINTER).toString()
+        compiles(parallel)
+
+        where:
+        maxExtractions | incremental
+        1              | false
+        1              | true
+        2              | false
+    }
+
+    private static LongMethodRefactor refactor(String srcDir, boolean incremental, int maxExtractions,
+            int analysisParallelism) {
+        return longMethodRefactorWithLength(srcDir, 10, incremental, maxExtractions,
+                new RefactoringMetrics(new SimpleMeterRegistry(), 10000), new AnalysisBudget(0, 0, 0),
+                analysisParallelism)
+    }
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 10)
+    }
+}
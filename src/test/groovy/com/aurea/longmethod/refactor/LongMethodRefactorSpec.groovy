@@ -2,10 +2,12 @@ package com.aurea.longmethod.refactor
 
 import com.github.javaparser.JavaParser
 import com.github.javaparser.ast.CompilationUnit
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 
+import javax.tools.ToolProvider
 import java.nio.file.Files
 
 import static org.assertj.core.api.Assertions.assertThat
@@ -15,18 +17,27 @@ abstract class LongMethodRefactorSpec extends Specification {
     TemporaryFolder folder = new TemporaryFolder()
 
     String onClassCodeExpect(String code, String expectedTest) {
-        File sourceDir = folder.newFolder("test_src")
+        String resultingTest = onClassCode(code) { longMethodRefactor(it) }.text
+
+        assertThat(resultingTest).isEqualToNormalizingWhitespace(expectedTest)
+    }
+
+    File onClassCode(String code, String dirName = "test_src", Closure<LongMethodRefactor> refactor) {
+        File sourceDir = folder.newFolder(dirName)
         File sourceFile = createTestedCode(code, sourceDir)
 
-        LongMethodRefactor longMethodRefactor = longMethodRefactor(sourceDir.getAbsolutePath())
-        longMethodRefactor.refactorLongMethods()
+        refactor(sourceDir.getAbsolutePath()).refactorLongMethods()
 
-        String resultingTest = sourceFile.text
+        return sourceFile
+    }
 
-        assertThat(resultingTest).isEqualToNormalizingWhitespace(expectedTest)
+    boolean compiles(File sourceFile) {
+        File classesDir = folder.newFolder()
+        return ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d", classesDir.getAbsolutePath(),
+                sourceFile.getAbsolutePath()) == 0
     }
 
-    private static File createTestedCode(String code, File dir) {
+    static File createTestedCode(String code, File dir) {
         CompilationUnit compilationUnit = JavaParser.parse(code)
         String packageName = compilationUnit.getPackageDeclaration().map { it.getNameAsString() }.orElse("")
         String filePath = packageName.replaceAll("\\.", File.separator) + File.separator + compilationUnit.getType(0)
@@ -38,10 +49,16 @@ abstract class LongMethodRefactorSpec extends Specification {
         return testFile
     }
 
-    static LongMethodRefactor longMethodRefactorWithLength(String srcDir, int maxLength) {
-        RefactoringCandidatesProvider candidatesProvider = new RefactoringCandidatesProvider(3)
-        ApplicableCandidateProvider applicableCandidateProvider = new ApplicableCandidateProvider(3, 0.1, 6)
-        return new LongMethodRefactor(maxLength, srcDir, candidatesProvider, applicableCandidateProvider)
+    static LongMethodRefactor longMethodRefactorWithLength(String srcDir, int maxLength, boolean incremental = false,
+            int maxExtractions = 1, RefactoringMetrics metrics = new RefactoringMetrics(new SimpleMeterRegistry(), 10000),
+            AnalysisBudget analysisBudget = new AnalysisBudget(0, 0, 0), int analysisParallelism = 1) {
+        RefactoringCandidatesProvider candidatesProvider = new RefactoringCandidatesProvider(3, analysisParallelism)
+        ApplicableCandidateProvider applicableCandidateProvider = new ApplicableCandidateProvider(3, 0.1, 6, 8,
+                maxExtractions)
+        return new LongMethodRefactor(maxLength, incremental, candidatesProvider, applicableCandidateProvider,
+                new ChangeScope(srcDir, '', ''), new SymbolSolverFactory(1, '', 5000, false),
+                new RefactoringPipelineFactory(new AnalysisCache(''), new SourceWriter(false), metrics, analysisBudget),
+                new SuggestionReport(''), metrics)
     }
 
     abstract LongMethodRefactor longMethodRefactor(String srcDir)
@@ -0,0 +1,134 @@
+package com.aurea.longmethod.refactor
+
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.slf4j.LoggerFactory
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class RefactoringPipelineSpec extends Specification {
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Logger logger = LoggerFactory.getLogger(RefactoringPipeline) as Logger
+    ListAppender<ILoggingEvent> appender = new ListAppender<>()
+
+    def setup() {
+        appender.start()
+        logger.addAppender(appender)
+    }
+
+    def cleanup() {
+        logger.detachAppender(appender)
+    }
+
+    def "Should report files in the order they were submitted, whatever the order they complete in"() {
+        given: "the first file waits for the others to complete"
+        List<Path> files = newFiles(4)
+        CountDownLatch othersDone = new CountDownLatch(files.size() - 1)
+        RefactoringPipeline pipeline = newPipeline(2, files.size()) { path ->
+            if (path == files[0]) {
+                othersDone.await(10, TimeUnit.SECONDS)
+            } else {
+                othersDone.countDown()
+            }
+        }
+
+        when:
+        int completed = submitAll(pipeline, files)
+
+        then:
+        completed == files.size()
+        othersDone.count == 0
+        reports() == files.withIndex().collect { file, i -> "Refactored ${file} (${i + 1}/4, ${25 * (i + 1)}%)" }
+    }
+
+    def "Should go on with the other files when one fails"() {
+        given:
+        List<Path> files = newFiles(3)
+        RefactoringPipeline pipeline = newPipeline(1, 0) { path ->
+            if (path == files[1]) {
+                throw new IllegalStateException("Failed on purpose")
+            }
+        }
+
+        when:
+        int completed = submitAll(pipeline, files)
+
+        then: "without a total upfront, progress is a count of the files done"
+        completed == 3
+        pipeline.failed == 1
+        reports() == ["Refactored ${files[0]} (1)", "Failed to refactor file ${files[1]} (2)",
+                      "Refactored ${files[2]} (3)"].collect { it.toString() }
+    }
+
+    def "Should make submission wait while as many files as it holds are in flight"() {
+        given: "analyses wait to be released"
+        List<Path> files = newFiles(10)
+        CountDownLatch release = new CountDownLatch(1)
+        AtomicInteger submitted = new AtomicInteger()
+        RefactoringPipeline pipeline = newPipeline(1, files.size()) { release.await(10, TimeUnit.SECONDS) }
+
+        when:
+        Thread submitter = Thread.start {
+            files.each {
+                pipeline.submit(it, MethodScope.wholeFile())
+                submitted.incrementAndGet()
+            }
+        }
+        Thread.sleep(500)
+        int submittedWhileBlocked = submitted.get()
+        release.countDown()
+        submitter.join(10000)
+        int completed = pipeline.awaitCompletion()
+        pipeline.close()
+
+        then: "4 files per worker are let in"
+        submittedWhileBlocked == 4
+        submitted.get() == files.size()
+        completed == files.size()
+    }
+
+    private static int submitAll(RefactoringPipeline pipeline, List<Path> files) {
+        try {
+            files.each { pipeline.submit(it, MethodScope.wholeFile()) }
+            return pipeline.awaitCompletion()
+        } finally {
+            pipeline.close()
+        }
+    }
+
+    //every file has a method longer than the pipeline lets through unanalysed
+    private List<Path> newFiles(int count) {
+        return (0..<count).collect {
+            File file = folder.newFile("Test${it}.java")
+            file.text = "class Test${it} {\n    void m() {\n        int a = 1;\n        int b = a;\n    }\n}\n"
+            file.toPath()
+        }
+    }
+
+    //the analysis leaves every file unchanged
+    private RefactoringPipeline newPipeline(int parallelism, int total, Closure analysis) {
+        RefactoringMetrics metrics = new RefactoringMetrics(new SimpleMeterRegistry(), 10000)
+        RefactoringPipelineFactory factory = new RefactoringPipelineFactory(new AnalysisCache(''),
+                new SourceWriter(false), metrics, new AnalysisBudget(0, 0, 0))
+        return factory.newPipeline(parallelism, 1, total, false, folder.root.toPath(), '', false,
+                { compilationUnit, content, scope, budget ->
+                    analysis(compilationUnit.storage.get().path)
+                    Optional.empty()
+                } as RefactoringPipeline.Analysis)
+    }
+
+    private List<String> reports() {
+        return appender.list.collect { it.formattedMessage }
+                .findAll { it.startsWith("Refactored ") || it.startsWith("Failed to refactor") }
+    }
+}
@@ -0,0 +1,85 @@
+package com.aurea.longmethod.refactor
+
+import groovy.json.JsonSlurper
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+
+import java.nio.charset.StandardCharsets
+
+class RefactoringServerSpec extends LongMethodRefactorSpec {
+
+    InputStream stdin = System.in
+    PrintStream stdout = System.out
+
+    def cleanup() {
+        System.setIn(stdin)
+        System.setOut(stdout)
+    }
+
+    def "Should answer a scripted session on the standard input until asked to quit"() {
+        given:
+        File sourceDir = folder.newFolder("test_src")
+        File source = createTestedCode(LongMethodRefactorExtractionsSpec.REPORT, sourceDir)
+        String original = source.text
+        String missing = new File(sourceDir, "Missing.java").absolutePath
+
+        when:
+        List<Map> responses = serve(sourceDir, """\
+            analyse ${source.absolutePath}
+
+            unknown request
+            analyse ${missing}
+            refactor ${source.absolutePath}
+            quit
+            refactor ${source.absolutePath}
+            """.stripIndent())
+
+        then: "the suggestions for the file come first, then its status, and the file is left as is"
+        int analysed = responses.findIndexOf { it.status }
+        analysed > 0
+        responses.subList(0, analysed).every { it.file == source.absolutePath && it.method == "build(List)" }
+        responses[analysed] == [status: "ok", file: source.absolutePath, refactored: false,
+                                millis: responses[analysed].millis]
+
+        and: "an unknown request and a missing file are answered with an error each"
+        responses[analysed + 1] == [status: "error", message: "Unknown request unknown request"]
+        responses[analysed + 2].status == "error"
+
+        and: "the file is refactored in place, no request after quit is served"
+        responses[analysed + 3].status == "ok"
+        responses[analysed + 3].refactored == true
+        responses.size() == analysed + 4
+        source.text != original
+        compiles(source)
+    }
+
+    //every response line is a JSON object, whatever else the output gets is left out
+    private List<Map> serve(File sourceDir, String script) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        System.setIn(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)))
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8.name()))
+        newServer(sourceDir.absolutePath).serve()
+        return output.toString(StandardCharsets.UTF_8.name()).readLines().findAll { it.startsWith("{") }
+                .collect { new JsonSlurper().parseText(it) as Map }
+    }
+
+    private static RefactoringServer newServer(String srcDir) {
+        RefactoringMetrics metrics = new RefactoringMetrics(new SimpleMeterRegistry(), 10000)
+        ChangeScope changeScope = new ChangeScope(srcDir, '', '')
+        SymbolSolverFactory symbolSolverFactory = new SymbolSolverFactory(1, '', 5000, false)
+        SourceWriter sourceWriter = new SourceWriter(false)
+        SuggestionReport suggestionReport = new SuggestionReport('')
+        AnalysisBudget analysisBudget = new AnalysisBudget(0, 0, 0)
+        LongMethodRefactor longMethodRefactor = new LongMethodRefactor(10, false,
+                new RefactoringCandidatesProvider(3, 1), new ApplicableCandidateProvider(3, 0.1, 6, 8, 1),
+                changeScope, symbolSolverFactory,
+                new RefactoringPipelineFactory(new AnalysisCache(''), sourceWriter, metrics, analysisBudget),
+                suggestionReport, metrics)
+        return new RefactoringServer('-', longMethodRefactor, changeScope, symbolSolverFactory, sourceWriter,
+                suggestionReport, analysisBudget)
+    }
+
+    @Override
+    LongMethodRefactor longMethodRefactor(String srcDir) {
+        return longMethodRefactorWithLength(srcDir, 10)
+    }
+}
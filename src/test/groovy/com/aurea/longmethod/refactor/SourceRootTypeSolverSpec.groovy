@@ -0,0 +1,56 @@
+package com.aurea.longmethod.refactor
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.attribute.FileTime
+
+class SourceRootTypeSolverSpec extends Specification {
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    def "Should solve a type again once its file changed on disk"() {
+        given:
+        File source = new File(folder.newFolder("p"), "B.java")
+        source.text = "package p;\n\npublic class B {\n    int a;\n}\n"
+        SourceRootTypeSolver typeSolver = new SourceRootTypeSolver(folder.root.toPath(), 10)
+
+        expect:
+        fieldsOf(typeSolver) == ["a"]
+        typeSolver.findModifiedFiles().isEmpty()
+
+        when: "the file is edited by someone else"
+        source.text = "package p;\n\npublic class B {\n    int a;\n    int b;\n}\n"
+        Files.setLastModifiedTime(source.toPath(), FileTime.fromMillis(source.lastModified() + 2000))
+
+        then: "the cached type is that of its former content until the file is invalidated"
+        typeSolver.findModifiedFiles() == [source.toPath()]
+        fieldsOf(typeSolver) == ["a"]
+        typeSolver.invalidate(source.toPath()) == ["p.B"] as Set
+        typeSolver.findModifiedFiles().isEmpty()
+        fieldsOf(typeSolver) == ["a", "b"]
+        typeSolver.loadedFiles == 2
+    }
+
+    def "Should report a deleted file as modified"() {
+        given:
+        File source = new File(folder.newFolder("p"), "B.java")
+        source.text = "package p;\n\npublic class B {\n}\n"
+        SourceRootTypeSolver typeSolver = new SourceRootTypeSolver(folder.root.toPath(), 10)
+        typeSolver.tryToSolveType("p.B")
+
+        when:
+        source.delete()
+
+        then:
+        typeSolver.findModifiedFiles() == [source.toPath()]
+        typeSolver.invalidate(source.toPath()) == ["p.B"] as Set
+        !typeSolver.tryToSolveType("p.B").isSolved()
+    }
+
+    private static List<String> fieldsOf(SourceRootTypeSolver typeSolver) {
+        return typeSolver.tryToSolveType("p.B").correspondingDeclaration.declaredFields*.name
+    }
+}
@@ -0,0 +1,135 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.Modifier
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
+import com.github.javaparser.ast.body.MethodDeclaration
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermissions
+
+class SourceWriterSpec extends Specification {
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    static final String ORIGINAL = '''\
+package test;
+
+// kept as written
+public class Test {
+
+    int  a( ) {   return 1; }
+
+    /** Doc of b. */
+    int b() {
+        int x = 1;
+        return x;
+    }
+}
+'''
+
+    def "Should replace the file and leave no temporary file behind"() {
+        given:
+        File file = folder.newFile("Test.java")
+        file.text = "class Test {}"
+
+        when:
+        new SourceWriter(false).write(file.toPath(), "class Test { int field; }".getBytes(StandardCharsets.UTF_8))
+
+        then:
+        file.text == "class Test { int field; }"
+        file.parentFile.list() as List == ["Test.java"]
+    }
+
+    @Requires({ FileSystems.default.supportedFileAttributeViews().contains("posix") })
+    def "Should keep the permissions of the replaced file"() {
+        given:
+        File file = folder.newFile("Test.java")
+        file.text = "class Test {}"
+        Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rwxr-xr--"))
+
+        when:
+        new SourceWriter(false).write(file.toPath(), "class Test { int field; }".getBytes(StandardCharsets.UTF_8))
+
+        then:
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())) == "rwxr-xr--"
+    }
+
+    def "Should print the whole refactored file unless formatting is preserved"() {
+        given:
+        String refactored = refactor(ORIGINAL)
+
+        expect:
+        new SourceWriter(false).format(ORIGINAL, refactored) == refactored
+    }
+
+    def "Should print only the changed and extracted methods when formatting is preserved"() {
+        when:
+        String formatted = new SourceWriter(true).format(ORIGINAL, refactor(ORIGINAL))
+
+        then:
+        formatted == '''\
+package test;
+
+// kept as written
+public class Test {
+
+    int  a( ) {   return 1; }
+
+    /** Doc of b. */
+    int b() {
+        return c();
+    }
+
+    private int c() {
+        int x = 1;
+        return x;
+    }
+}
+'''
+    }
+
+    def "Should print the whole refactored file when a method is gone"() {
+        given:
+        CompilationUnit unit = JavaParser.parse(ORIGINAL)
+        unit.getClassByName("Test").get().getMethodsByName("a").each { it.remove() }
+        String refactored = unit.toString()
+
+        expect:
+        new SourceWriter(true).format(ORIGINAL, refactored) == refactored
+    }
+
+    def "Should print the whole refactored file when the patched file would not parse"() {
+        given: "b begins on the line of its class, replacing its lines drops the class"
+        String original = '''\
+public class Test { int b() {
+        int x = 1;
+        return x;
+    }
+}
+'''
+        String refactored = refactor(original)
+
+        expect:
+        new SourceWriter(true).format(original, refactored) == refactored
+    }
+
+    //extracts the body of b into a new method c
+    private static String refactor(String original) {
+        CompilationUnit unit = JavaParser.parse(original)
+        ClassOrInterfaceDeclaration type = unit.getClassByName("Test").get()
+        MethodDeclaration b = type.getMethodsByName("b").first()
+        MethodDeclaration c = type.addMethod("c", Modifier.PRIVATE)
+        c.setType("int")
+        c.setBody(b.getBody().get().clone())
+        b.setBody(JavaParser.parseBlock("{ return c(); }"))
+        unit.toString()
+    }
+}
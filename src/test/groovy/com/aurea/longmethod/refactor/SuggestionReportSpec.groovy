@@ -0,0 +1,61 @@
+package com.aurea.longmethod.refactor
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Paths
+
+class SuggestionReportSpec extends Specification {
+    //kept apart so that the source holds no unicode escape
+    static final String U = '\\' + 'u'
+
+    @Unroll
+    def "Should quote #description"() {
+        expect:
+        SuggestionReport.quote(value) == quoted
+        new JsonSlurper().parseText("[" + quoted + "]") == [value]
+
+        where:
+        description          | value              | quoted
+        "plain text"         | "Test.java"        | '"Test.java"'
+        "an empty string"    | ""                 | '""'
+        "quotes"             | 'say "hi"'         | '"say \\"hi\\""'
+        "backslashes"        | 'C:\\src\\A.java'  | '"C:\\\\src\\\\A.java"'
+        "a newline and tab"  | "a\nb\tc"          | '"a' + U + '000ab' + U + '0009c"'
+        "a null character"   | "a\u0000b"         | '"a' + U + '0000b"'
+        "non ASCII text"     | "Caf\u00e9"        | '"Caf\u00e9"'
+    }
+
+    def "Should report a skipped method as one JSON line, leaving the caller's writer open"() {
+        given:
+        CompilationUnit unit = JavaParser.parse('class Test {\n    void run() {\n    }\n}\n')
+        unit.setStorage(Paths.get('dir', 'say "hi".java'))
+        ClassOrInterfaceDeclaration type = unit.getClassByName("Test").get()
+        StringWriter target = new StringWriter()
+        SuggestionReport report = new SuggestionReport("")
+
+        when:
+        report.start(target)
+        report.skip(type, type.getMethodsByName("run").first())
+        report.finish()
+
+        then:
+        target.toString().endsWith("\n")
+        target.toString().readLines().size() == 1
+        //storage makes the path absolute
+        new JsonSlurper().parseText(target.toString()) == [file   : unit.getStorage().get().getPath().toString(),
+                                                           type   : "Test", method: "run()", begin: 2, end: 3,
+                                                           skipped: "overBudget"]
+        !report.isEnabled()
+
+        when: "the writer is still open"
+        target.write("more")
+
+        then:
+        target.toString().endsWith("more")
+    }
+}
@@ -0,0 +1,32 @@
+package com.aurea.longmethod.refactor.utils
+
+import spock.lang.Specification
+
+class LexicalScanSpec extends Specification {
+
+    def "Should measure the longest member from its first token to its closing brace"() {
+        expect:
+        LexicalScan.longestMember(code) == length
+
+        where:
+        code                                                                   | length
+        "class A {\n  void m() {\n    a();\n  }\n}"                             | 3
+        "class A {\n  @Override\n  public String toString() {\n    return \"\";\n  }\n}" | 4
+        "class A {\n  /**\n   * Doc\n   */\n  void m() {\n  }\n}"              | 2
+        "class A {\n  int a;\n  int b;\n  void m() {}\n}"                      | 1
+        "class A {\n  @Foo({1,\n    2})\n  void m() {\n  }\n}"                 | 4
+        "class A {\n  Object o = call(new Runnable() {\n    public void run() {\n    }\n  });\n}" | 4
+    }
+
+    def "Should not count braces of comments and literals"() {
+        expect:
+        LexicalScan.longestMember(code) == length
+
+        where:
+        code                                                                            | length
+        "class A {\n  // }\n  void m() {\n  }\n}"                                        | 2
+        "class A {\n  /* } */\n  void m() {\n  }\n}"                                     | 2
+        "class A {\n  void m() {\n    String s = \"}\\\"}\";\n    char c = '}';\n  }\n}" | 4
+        "class A {\n  void m() {\n    String s = \"\"\"\n      }\n      \"\"\";\n  }\n}" | 5
+    }
+}